@@ -0,0 +1,36 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+plugins {
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    "jmh"(projects.core)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // keep the default run short enough for local comparisons
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+}
+
+// the benchmarks are not part of the published artifacts
+tasks.withType<PublishToMavenRepository> {
+    enabled = false
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.benchmark;
+
+import de.drolpi.conversion.core.ConversionBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the algorithm bus, which chains registered converters when no direct converter exists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AlgorithmConversionBenchmark {
+
+    @Benchmark
+    public Integer directHit(final WarmState state) {
+        return state.conversionBus.convert(state.integerString, Integer.class);
+    }
+
+    @Benchmark
+    public Long chainedHit(final WarmState state) {
+        // Boolean -> Integer -> Long
+        return state.conversionBus.convert(state.bool, Long.class);
+    }
+
+    @Benchmark
+    public Long chainedColdMiss(final ColdState state) {
+        return state.conversionBus.convert(Boolean.TRUE, Long.class);
+    }
+
+    @Benchmark
+    public boolean chainedColdCanConvert(final ColdState state) {
+        return state.conversionBus.canConvert(Boolean.class, Long.class);
+    }
+
+    @Benchmark
+    public boolean negativeColdMiss(final ColdState state) {
+        return state.conversionBus.canConvert(Thread.class, UUID.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmState {
+
+        private final ConversionBus conversionBus = ConversionBus.createAlgorithmDefault();
+        private final String integerString = "4711";
+        private final Boolean bool = Boolean.TRUE;
+
+        @Setup
+        public void setup() {
+            // Populate the cache, so every measured call is a hit
+            this.conversionBus.convert(this.integerString, Integer.class);
+            this.conversionBus.convert(this.bool, Long.class);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdState {
+
+        private ConversionBus conversionBus;
+
+        // A fresh bus has an empty cache, so every measured call has to run the path search
+        @Setup(Level.Invocation)
+        public void setup() {
+            this.conversionBus = ConversionBus.createAlgorithmDefault();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.benchmark;
+
+import de.drolpi.conversion.core.ConversionBus;
+import io.leangen.geantyref.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converter lookups that are answered by the cache with lookups that have to search the registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheLookupBenchmark {
+
+    private static final TypeToken<Set<Integer>> INTEGER_SET = new TypeToken<>() {};
+
+    @Benchmark
+    public boolean positiveHit(final WarmState state) {
+        return state.conversionBus.canConvert(String.class, Integer.class);
+    }
+
+    @Benchmark
+    public boolean negativeHit(final WarmState state) {
+        return state.conversionBus.canConvert(Thread.class, UUID.class);
+    }
+
+    @Benchmark
+    public boolean parameterizedHit(final WarmState state) {
+        return state.conversionBus.canConvert(state.sourceType, INTEGER_SET.getType());
+    }
+
+    @Benchmark
+    public boolean nestedParameterizedHit(final WarmState state) {
+        return state.conversionBus.canConvert(state.nestedSourceType, state.nestedTargetType);
+    }
+
+    @Benchmark
+    public boolean positiveColdMiss(final ColdState state) {
+        return state.conversionBus.canConvert(String.class, Integer.class);
+    }
+
+    @Benchmark
+    public boolean negativeColdMiss(final ColdState state) {
+        return state.conversionBus.canConvert(Thread.class, UUID.class);
+    }
+
+    @Benchmark
+    public boolean collectionColdMiss(final ColdState state) {
+        return state.conversionBus.canConvert(ArrayList.class, Set.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmState {
+
+        private final ConversionBus conversionBus = ConversionBus.createDefault();
+        private final Type sourceType = new TypeToken<List<String>>() {}.getType();
+        private final Type nestedSourceType = new TypeToken<Map<String, List<String>>>() {}.getType();
+        private final Type nestedTargetType = new TypeToken<Map<String, List<Integer>>>() {}.getType();
+
+        @Setup
+        public void setup() {
+            // Populate the cache, so every measured call is a hit
+            this.conversionBus.canConvert(String.class, Integer.class);
+            this.conversionBus.canConvert(Thread.class, UUID.class);
+            this.conversionBus.canConvert(this.sourceType, INTEGER_SET.getType());
+            this.conversionBus.canConvert(this.nestedSourceType, this.nestedTargetType);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdState {
+
+        private ConversionBus conversionBus;
+
+        // A fresh bus has an empty cache, so every measured call has to search the registry
+        @Setup(Level.Invocation)
+        public void setup() {
+            this.conversionBus = ConversionBus.createDefault();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.benchmark;
+
+import de.drolpi.conversion.core.ConversionBus;
+import de.drolpi.conversion.core.impl.CollectionToCollectionConverter;
+import de.drolpi.conversion.core.impl.MapToMapConverter;
+import io.leangen.geantyref.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures warm conversions of collections, arrays and maps, which dispatch once per element.
+ * <p>
+ * The bus always passes the runtime class as source type, which carries no element types. The collection and map
+ * converters are therefore also measured directly with a parameterized source type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContainerConversionBenchmark {
+
+    private static final Type STRING_LIST = new TypeToken<List<String>>() {}.getType();
+    private static final Type INTEGER_SET = new TypeToken<Set<Integer>>() {}.getType();
+    private static final Type STRING_MAP = new TypeToken<Map<String, String>>() {}.getType();
+    private static final Type INTEGER_MAP = new TypeToken<Map<Integer, Integer>>() {}.getType();
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ConversionBus conversionBus;
+    private CollectionToCollectionConverter collectionConverter;
+    private MapToMapConverter mapConverter;
+
+    private List<String> list;
+    private String[] array;
+    private Map<String, String> map;
+    private Integer[] targets;
+
+    @Setup
+    public void setup() {
+        this.conversionBus = ConversionBus.createDefault();
+        this.collectionConverter = new CollectionToCollectionConverter(this.conversionBus);
+        this.mapConverter = new MapToMapConverter(this.conversionBus);
+        this.list = new ArrayList<>(this.size);
+        this.array = new String[this.size];
+        this.map = new LinkedHashMap<>(this.size);
+        this.targets = new Integer[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            final String value = Integer.toString(i);
+            this.list.add(value);
+            this.array[i] = value;
+            this.map.put(value, value);
+        }
+
+        // Warm up the caches so that only the hit path is measured
+        this.listToSet();
+        this.arrayToArray();
+        this.collectionToCollection();
+        this.mapToMap();
+        this.convertAllList();
+        this.convertAllArray();
+    }
+
+    @Benchmark
+    public Set<?> listToSet() {
+        return this.conversionBus.convert(this.list, Set.class);
+    }
+
+    @Benchmark
+    public Integer[] arrayToArray() {
+        return this.conversionBus.convert(this.array, Integer[].class);
+    }
+
+    @Benchmark
+    public List<Object> convertAllList() {
+        return this.conversionBus.convertAll(this.list, Integer.class);
+    }
+
+    @Benchmark
+    public Integer[] convertAllArray() {
+        this.conversionBus.convertAll(this.array, Integer.class, this.targets);
+        return this.targets;
+    }
+
+    @Benchmark
+    public Object collectionToCollection() {
+        return this.collectionConverter.convert(this.list, STRING_LIST, INTEGER_SET);
+    }
+
+    @Benchmark
+    public Object mapToMap() {
+        return this.mapConverter.convert(this.map, STRING_MAP, INTEGER_MAP);
+    }
+}
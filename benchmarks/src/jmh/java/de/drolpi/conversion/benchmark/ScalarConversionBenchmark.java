@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.benchmark;
+
+import de.drolpi.conversion.core.BoundConversion;
+import de.drolpi.conversion.core.ConversionBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures warm (cache-hit) conversions of single scalar values through the default conversion bus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScalarConversionBenchmark {
+
+    private ConversionBus conversionBus;
+    private BoundConversion<String, Integer> boundStringToInteger;
+
+    private String integerString;
+    private Integer integer;
+    private Double decimal;
+    private String enumName;
+    private Sample enumValue;
+
+    @Setup
+    public void setup() {
+        this.conversionBus = ConversionBus.createDefault();
+        this.boundStringToInteger = this.conversionBus.lookup(String.class, Integer.class);
+        this.integerString = "4711";
+        this.integer = 4711;
+        this.decimal = 47.11D;
+        this.enumName = "SECOND";
+        this.enumValue = Sample.THIRD;
+
+        // Warm up the caches so that only the hit path is measured
+        this.stringToInteger();
+        this.boundStringToInteger();
+        this.stringToInt();
+        this.integerToLong();
+        this.doubleToBigDecimal();
+        this.stringToEnum();
+        this.enumToString();
+    }
+
+    @Benchmark
+    public Integer stringToInteger() {
+        return this.conversionBus.convert(this.integerString, Integer.class);
+    }
+
+    @Benchmark
+    public Integer boundStringToInteger() {
+        return this.boundStringToInteger.apply(this.integerString);
+    }
+
+    @Benchmark
+    public int stringToInt() {
+        return this.conversionBus.convertToInt(this.integerString);
+    }
+
+    @Benchmark
+    public Long integerToLong() {
+        return this.conversionBus.convert(this.integer, Long.class);
+    }
+
+    @Benchmark
+    public BigDecimal doubleToBigDecimal() {
+        return this.conversionBus.convert(this.decimal, BigDecimal.class);
+    }
+
+    @Benchmark
+    public Sample stringToEnum() {
+        return this.conversionBus.convert(this.enumName, Sample.class);
+    }
+
+    @Benchmark
+    public String enumToString() {
+        return this.conversionBus.convert(this.enumValue, String.class);
+    }
+
+    public enum Sample {
+
+        FIRST, SECOND, THIRD
+    }
+}
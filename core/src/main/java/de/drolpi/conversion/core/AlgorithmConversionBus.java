@@ -18,32 +18,103 @@
 
 import de.drolpi.conversion.core.converter.ConversionPath;
 import de.drolpi.conversion.core.converter.NonGenericConverter;
+import de.drolpi.conversion.core.exception.ConversionException;
 import de.drolpi.conversion.core.exception.ConversionFailedException;
-import de.drolpi.conversion.core.util.ClassTreeUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
 
-class AlgorithmConversionBus extends BasicConversionBus {
+class AlgorithmConversionBus extends BasicConversionBus implements ChainStatistics {
+
+    private final AlgorithmConverterRegistrar registrar;
 
     AlgorithmConversionBus() {
-        super(new AlgorithmConverterRegistrar());
+        this(DEFAULT_CACHE_POLICY);
+    }
+
+    AlgorithmConversionBus(@NotNull final CachePolicy cachePolicy) {
+        this(cachePolicy, SearchPolicy.defaults());
+    }
+
+    AlgorithmConversionBus(@NotNull final CachePolicy cachePolicy, @NotNull final SearchPolicy searchPolicy) {
+        this(new AlgorithmConverterRegistrar(searchPolicy), cachePolicy);
+    }
+
+    private AlgorithmConversionBus(@NotNull final AlgorithmConverterRegistrar registrar, @NotNull final CachePolicy cachePolicy) {
+        super(registrar, cachePolicy);
+        this.registrar = registrar;
+    }
+
+    @Override
+    public long successes() {
+        return this.registrar.successes.sum();
+    }
+
+    @Override
+    public long failures() {
+        return this.registrar.failures.sum();
+    }
+
+    @Override
+    @NotNull BasicConversionBus snapshot(@NotNull final ConverterRegistrar registrar) {
+        return new AlgorithmConversionBus((AlgorithmConverterRegistrar) registrar, this.cachePolicy());
     }
 
     private static final class AlgorithmConverterRegistrar extends ConverterRegistrar {
 
-        private static final int MAX_DEPTH = 5;
+        private final TypeGraph graph;
+        // Shared by all converters of the bus, so that they can be read without knowing the resolved converters
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private AlgorithmConverterRegistrar(@NotNull final SearchPolicy searchPolicy) {
+            this(new TypeGraph(searchPolicy));
+        }
+
+        private AlgorithmConverterRegistrar(@NotNull final TypeGraph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        protected @NotNull ConverterRegistrar copy() {
+            return this.copyTo(new AlgorithmConverterRegistrar(this.graph.copy()));
+        }
+
+        @Override
+        protected void add(@NotNull final NonGenericConverter converter) {
+            if (converter.cost() <= 0) {
+                throw new IllegalArgumentException("cost must be positive");
+            }
+
+            super.add(converter);
+            // Higher costs are clamped, so that they can be summed up along a chain without overflowing
+            final int cost = Math.min(converter.cost(), this.graph.maxCost());
+            for (final ConversionPath path : converter.paths()) {
+                this.graph.add(path, cost);
+            }
+        }
+
+        @Override
+        protected void remove(@NotNull final Class<?> sourceType, @NotNull final Class<?> targetType) {
+            super.remove(sourceType, targetType);
+            this.graph.remove(new ConversionPath(sourceType, targetType));
+        }
+
+        @Override
+        protected boolean isolatedPaths() {
+            // A new converter can complete a chain for any conversion
+            return false;
+        }
 
         @Override
         protected NonGenericConverter find(@Nullable final Type sourceType, @NotNull final Type targetType) {
@@ -54,115 +125,152 @@ protected NonGenericConverter find(@Nullable final Type sourceType, @NotNull fin
                 return converter;
             }
 
-            final AlgorithmResult result = new AlgorithmResult();
-            final AlgorithmPath emptyPath = new AlgorithmPath();
-            this.algorithm(sourceType != null ? sourceType : Object.class, targetType, emptyPath, result);
+            final Type chainSourceType = sourceType != null ? sourceType : Object.class;
+            // Skip the search if no chain can lead to the target type at all. The index only knows the erased paths, so
+            // it rules conversions out, but reachable targets still need a chain of suitable converters
+            if (!this.graph.reachable(chainSourceType, targetType)) {
+                return null;
+            }
+
+            final List<AlgorithmChain> chains = new ArrayList<>();
+            // Chains are found in the order of their cost, so the cheapest chain is tried first
+            for (final List<ConversionPath> paths : this.graph.search(chainSourceType, targetType)) {
+                final AlgorithmChain chain = this.compile(paths, chainSourceType, targetType);
+
+                if (chain != null) {
+                    chains.add(chain);
+                }
+            }
 
-            if (result.isEmpty()) {
+            if (chains.isEmpty()) {
                 return null;
             }
-            // Sort so that we start with the shortest path
-            result.sort(Comparator.comparingInt(List::size));
-
-            return new AlgorithmConverter(result);
-        }
-
-        private void algorithm(final Type source, final Type target, final AlgorithmPath previousPath, final AlgorithmResult result) {
-            // Search the whole type tree
-            final List<Class<?>> sourceTree = ClassTreeUtil.collect(source);
-            final List<Class<?>> targetTree = ClassTreeUtil.collect(target);
-
-            // Iterate through the whole class tree to find a converter with a matching source type
-            for (final Class<?> sourceCandidate : sourceTree) {
-                // Iterate through all registered converters
-                for (final Map.Entry<ConversionPath, Deque<NonGenericConverter>> entry : this.converters.entrySet()) {
-                    final ConversionPath path = entry.getKey();
-                    // Skip if the source type does not match
-                    if (path.sourceType() != sourceCandidate) {
-                        continue;
-                    }
-                    // Skip if we already have this converter in our path to avoid going round in circles
-                    if (previousPath.contains(entry.getValue())) {
-                        continue;
-                    }
-                    // Create a new path, as we have multiple options here
-                    final AlgorithmPath nextPath = new AlgorithmPath(previousPath);
-                    nextPath.add(entry.getValue());
-
-                    // Iterate through the entire class tree to check whether we are already at the end and the target type of the converter matches
-                    for (final Class<?> targetCandidate : targetTree) {
-                        if (!path.targetType().equals(targetCandidate)) {
-                            continue;
-                        }
-                        result.add(nextPath);
-                        return;
-                    }
-
-                    // Skip if the maximum depth is reached
-                    if (nextPath.size() == MAX_DEPTH) {
-                        continue;
-                    }
-
-                    // Call recursive
-                    this.algorithm(path.targetType(), target, nextPath, result);
+
+            return new AlgorithmConverter(chains.toArray(new AlgorithmChain[0]), this.successes, this.failures);
+        }
+
+        private @Nullable AlgorithmChain compile(@NotNull final List<ConversionPath> paths, @NotNull final Type sourceType,
+            @NotNull final Type targetType
+        ) {
+            final AlgorithmStep[] steps = new AlgorithmStep[paths.size()];
+            Type stepSourceType = sourceType;
+
+            for (int i = 0; i < steps.length; i++) {
+                final ConversionPath path = paths.get(i);
+                // Every step but the last converts to the intermediate type of its path
+                final Type stepTargetType = i + 1 < steps.length ? path.targetType() : targetType;
+                final NonGenericConverter converter = this.suitableConverter(path, stepSourceType, stepTargetType);
+
+                if (converter == null) {
+                    return null;
+                }
+
+                steps[i] = new AlgorithmStep(converter, stepTargetType);
+                stepSourceType = path.targetType();
+            }
+
+            return new AlgorithmChain(steps);
+        }
+
+        private @Nullable NonGenericConverter suitableConverter(@NotNull final ConversionPath path, @NotNull final Type sourceType,
+            @NotNull final Type targetType
+        ) {
+            final Deque<NonGenericConverter> converters = this.converters.get(path);
+
+            // Unregistered in the meantime
+            if (converters == null) {
+                return null;
+            }
+
+            for (final NonGenericConverter converter : converters) {
+                if (converter.isSuitable(sourceType, targetType)) {
+                    return converter;
                 }
             }
+
+            return null;
         }
     }
 
-    private record AlgorithmConverter(AlgorithmResult result) implements NonGenericConverter {
+    /**
+     * Converts by the first successful of its chains. The chain, which succeeded last for a runtime class of the
+     * sources, is tried first for that class, so that repeated conversions settle on a single attempt.
+     */
+    static final class AlgorithmConverter implements NonGenericConverter {
+
+        private final AlgorithmChain[] chains;
+        // The index of the chain, which succeeded last, per runtime class of the sources. Attached to the classes, so
+        // that the converter does not keep them from being unloaded
+        private final ClassValue<AtomicInteger> preferredChains = new ClassValue<>() {
+            @Override
+            protected AtomicInteger computeValue(final Class<?> type) {
+                return new AtomicInteger();
+            }
+        };
+        private final LongAdder successes;
+        private final LongAdder failures;
+
+        private AlgorithmConverter(@NotNull final AlgorithmChain[] chains, @NotNull final LongAdder successes,
+            @NotNull final LongAdder failures
+        ) {
+            this.chains = chains;
+            this.successes = successes;
+            this.failures = failures;
+        }
 
         @Override
         public @Nullable Object convert(final @Nullable Object source, final @Nullable Type sourceType, @NotNull final Type targetType) {
             requireNonNull(sourceType, "sourceType");
             requireNonNull(targetType, "targetType");
-            // Iterate through all the possibilities to try them out
-            for (final AlgorithmPath path : this.result) {
-                try {
-                    // Try path
-                    return this.tryConvert(path, source, sourceType, targetType);
-                } catch (Exception ignored) {
-                    // Do nothing because the next path will be tried
-                }
-            }
+            final Object result = this.tryConvert(source, sourceType, targetType);
 
-            throw new ConversionFailedException(sourceType, targetType, source);
+            if (result == FAILED) {
+                throw new ConversionFailedException(sourceType, targetType, source);
+            }
+            return result;
         }
 
-        private Object tryConvert(final AlgorithmPath path, final Object source, final Type sourceType, final Type targetType) {
-            Object result = source;
+        @Override
+        public @Nullable Object tryConvert(final @Nullable Object source, final @Nullable Type sourceType, @NotNull final Type targetType) {
+            requireNonNull(sourceType, "sourceType");
+            requireNonNull(targetType, "targetType");
+            final AtomicInteger preferredChain = source != null && this.chains.length > 1
+                ? this.preferredChains.get(source.getClass())
+                : null;
+            final int preferred = preferredChain != null ? preferredChain.get() : 0;
+
+            // Try the preferred chain first and then the others in their order
+            for (int i = -1; i < this.chains.length; i++) {
+                final int index = i < 0 ? preferred : i;
+
+                if (i == preferred) {
+                    continue;
+                }
+
+                final Object result = this.tryChain(this.chains[index], source);
+                if (result == FAILED) {
+                    this.failures.increment();
+                    continue;
+                }
 
-            // Iterate through all ways of the path
-            for (int i = 0; i < path.size(); i++) {
-                final Deque<NonGenericConverter> converterDeque = path.get(i);
-
-                // Iterate through all possible converters of the way to check their conditions
-                for (final NonGenericConverter nonGenericConverter : converterDeque) {
-                    final Type sourceT = result != null ? result.getClass() : Object.class;
-                    Type targetT = targetType;
-                    boolean suitable = false;
-
-                    // Iterate through all suitable paths to check whether one of them is suitable
-                    for (final ConversionPath conversionPath : nonGenericConverter.paths()) {
-                        // If this is not the last converter, set the intermediate target type
-                        if ((i + 1) != path.size()) {
-                            targetT = conversionPath.targetType();
-                        }
-
-                        if (nonGenericConverter.isSuitable(sourceType, targetT)) {
-                            suitable = true;
-                            break;
-                        }
-                    }
-
-                    if (suitable) {
-                        result = nonGenericConverter.convert(result, sourceT, targetT);
-                        break;
-                    }
+                this.successes.increment();
+                if (preferredChain != null && index != preferred) {
+                    preferredChain.set(index);
                 }
+                return result;
             }
 
-            return result;
+            return FAILED;
+        }
+
+        private @Nullable Object tryChain(@NotNull final AlgorithmChain chain, @Nullable final Object source) {
+            try {
+                // A failed step makes the next chain be tried without throwing
+                return chain.convert(source);
+            } catch (ConversionException ignored) {
+                // Do nothing because the next chain will be tried
+                return FAILED;
+            }
         }
 
         @Override
@@ -176,18 +284,27 @@ public boolean isSuitable(@Nullable Type sourceType, @NotNull Type targetType) {
         }
     }
 
-    private static class AlgorithmResult extends ArrayList<AlgorithmPath> {
+    /**
+     * A chain of converters, whose converters and intermediate target types have been chosen when it was compiled.
+     */
+    private record AlgorithmChain(AlgorithmStep[] steps) {
 
-    }
+        private @Nullable Object convert(@Nullable final Object source) {
+            Object result = source;
 
-    private static class AlgorithmPath extends ArrayList<Deque<NonGenericConverter>> {
+            for (final AlgorithmStep step : this.steps) {
+                result = step.converter.tryConvert(result, result != null ? result.getClass() : Object.class, step.targetType);
 
-        public AlgorithmPath() {
+                if (result == NonGenericConverter.FAILED) {
+                    return NonGenericConverter.FAILED;
+                }
+            }
 
+            return result;
         }
+    }
+
+    private record AlgorithmStep(NonGenericConverter converter, Type targetType) {
 
-        public AlgorithmPath(@NotNull Collection<? extends Deque<NonGenericConverter>> c) {
-            super(c);
-        }
     }
 }
@@ -20,39 +20,61 @@
 import de.drolpi.conversion.core.converter.ConversionPath;
 import de.drolpi.conversion.core.converter.Converter;
 import de.drolpi.conversion.core.converter.NonGenericConverter;
+import de.drolpi.conversion.core.converter.ToBooleanConverter;
+import de.drolpi.conversion.core.converter.ToDoubleConverter;
+import de.drolpi.conversion.core.converter.ToIntConverter;
+import de.drolpi.conversion.core.converter.ToLongConverter;
 import de.drolpi.conversion.core.exception.ConverterNotFoundException;
 import de.drolpi.conversion.core.util.ClassTreeUtil;
 import io.leangen.geantyref.GenericTypeReflector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
 class BasicConversionBus implements ConfigurableConversionBus {
 
+    static final CachePolicy DEFAULT_CACHE_POLICY = CachePolicy.clock(1024);
+
     private static final NoOpConverter NO_MATCH_CONVERTER = new NoOpConverter();
     private static final NoOpConverter NO_OP_CONVERTER = new NoOpConverter();
 
     private final ConverterRegistrar registrar;
-    private final Map<CacheKey, NonGenericConverter> cache = new ConcurrentHashMap<>(64);
+    private final CachePolicy cachePolicy;
+    private final ConverterCache cache;
+    private final AtomicInteger modifications = new AtomicInteger();
 
     BasicConversionBus() {
-        this.registrar = new ConverterRegistrar();
+        this(DEFAULT_CACHE_POLICY);
+    }
+
+    BasicConversionBus(@NotNull final CachePolicy cachePolicy) {
+        this(new ConverterRegistrar(), cachePolicy);
     }
 
     BasicConversionBus(@NotNull final ConverterRegistrar registrar) {
+        this(registrar, DEFAULT_CACHE_POLICY);
+    }
+
+    BasicConversionBus(@NotNull final ConverterRegistrar registrar, @NotNull final CachePolicy cachePolicy) {
         requireNonNull(registrar, "registrar");
+        requireNonNull(cachePolicy, "cachePolicy");
         this.registrar = registrar;
+        this.cachePolicy = cachePolicy;
+        this.cache = new ConverterCache(cachePolicy);
     }
 
     @Override
@@ -73,7 +95,7 @@ public void register(@NotNull final NonGenericConverter converter) {
         this.registrar.add(converter);
 
         // Invalidate cache because maybe previously not possible conversions are possible now
-        this.invalidateCache();
+        this.invalidateCache(converter.paths());
     }
 
     @Override
@@ -84,7 +106,7 @@ public void unregister(@NotNull final Class<?> sourceType, @NotNull final Class<
         this.registrar.remove(sourceType, targetType);
 
         // Invalidate cache because maybe a suitable converter is cached
-        this.invalidateCache();
+        this.invalidateCache(Set.of(new ConversionPath(sourceType, targetType)));
     }
 
     @Override
@@ -94,7 +116,26 @@ public void unregister(@NotNull final NonGenericConverter converter) {
         this.registrar.remove(converter);
 
         // Invalidate cache because maybe this converter is cached
-        this.invalidateCache();
+        this.invalidateCache(converter.paths());
+    }
+
+    @Override
+    public @NotNull ConversionBus freeze() {
+        final BasicConversionBus snapshot = this.snapshot();
+        // Runtime lookups use the classes of the source objects, so abstract source types would never be looked up
+        final Set<ConversionPath> paths = new HashSet<>(snapshot.cache.classConversions().keySet());
+        for (final ConversionPath path : snapshot.registrar.converters.keySet()) {
+            if (path.sourceType().isArray() || !Modifier.isAbstract(path.sourceType().getModifiers())) {
+                paths.add(path);
+            }
+        }
+        return new FrozenConversionBus(snapshot, paths);
+    }
+
+    @Override
+    public @NotNull ConversionBus freeze(@NotNull final Set<ConversionPath> paths) {
+        requireNonNull(paths, "paths");
+        return new FrozenConversionBus(this.snapshot(), paths);
     }
 
     @Override
@@ -104,6 +145,13 @@ public boolean canConvert(@Nullable final Type sourceType, @NotNull final Type t
         return this.converter(sourceType, targetType) != null;
     }
 
+    @Override
+    public <S> @NotNull BoundConversion<S, Object> lookup(@NotNull final Class<S> sourceType, @NotNull final Type targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        return new InlineCacheConversion<>(this, sourceType, targetType);
+    }
+
     @Override
     public Object convert(@Nullable final Object source, @NotNull final Type targetType) {
         requireNonNull(targetType, "targetType");
@@ -118,45 +166,144 @@ public Object convert(@Nullable final Object source, @NotNull final Type targetT
         return converter.convert(source, sourceType, targetType);
     }
 
-    private @Nullable NonGenericConverter converter(@Nullable final Type sourceType, @NotNull final Type targetType) {
-        final CacheKey cacheKey = new CacheKey(sourceType, targetType);
+    @Override
+    @SuppressWarnings("unchecked")
+    public int convertToInt(@NotNull final Object source) {
+        requireNonNull(source, "source");
+        final Class<?> sourceType = source.getClass();
+
+        if (this.unwrappedConverter(sourceType, int.class) instanceof final ToIntConverter<?> converter) {
+            return ((ToIntConverter<Object>) converter).convertToInt(source, sourceType);
+        }
 
+        // Convert via the boxed type
+        return ConfigurableConversionBus.super.convertToInt(source);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long convertToLong(@NotNull final Object source) {
+        requireNonNull(source, "source");
+        final Class<?> sourceType = source.getClass();
+
+        if (this.unwrappedConverter(sourceType, long.class) instanceof final ToLongConverter<?> converter) {
+            return ((ToLongConverter<Object>) converter).convertToLong(source, sourceType);
+        }
+
+        // Convert via the boxed type
+        return ConfigurableConversionBus.super.convertToLong(source);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public double convertToDouble(@NotNull final Object source) {
+        requireNonNull(source, "source");
+        final Class<?> sourceType = source.getClass();
+
+        if (this.unwrappedConverter(sourceType, double.class) instanceof final ToDoubleConverter<?> converter) {
+            return ((ToDoubleConverter<Object>) converter).convertToDouble(source, sourceType);
+        }
+
+        // Convert via the boxed type
+        return ConfigurableConversionBus.super.convertToDouble(source);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean convertToBoolean(@NotNull final Object source) {
+        requireNonNull(source, "source");
+        final Class<?> sourceType = source.getClass();
+
+        if (this.unwrappedConverter(sourceType, boolean.class) instanceof final ToBooleanConverter<?> converter) {
+            return ((ToBooleanConverter<Object>) converter).convertToBoolean(source, sourceType);
+        }
+
+        // Convert via the boxed type
+        return ConfigurableConversionBus.super.convertToBoolean(source);
+    }
+
+    @Nullable NonGenericConverter converter(@Nullable final Type sourceType, @NotNull final Type targetType) {
         // Take a look at the cache to see if this conversion has been done before
-        NonGenericConverter converter = this.cache.get(cacheKey);
+        NonGenericConverter converter = this.cache.get(sourceType, targetType);
 
-        if (converter != null) {
-            // Check whether a converter was found in the previous conversion or not
-            return converter != NO_MATCH_CONVERTER ? converter : null;
+        if (converter == null) {
+            converter = this.resolve(sourceType, targetType);
+            this.cache.put(sourceType, targetType, converter);
         }
 
+        // Check whether a converter was found or not
+        return converter != NO_MATCH_CONVERTER ? converter : null;
+    }
+
+    @Nullable Object unwrappedConverter(@NotNull final Class<?> sourceType, @NotNull final Class<?> targetType) {
+        final NonGenericConverter converter = this.converter(sourceType, targetType);
+        // Unwrap registered converters, because only they may support primitives
+        return converter instanceof final ConverterAdapter adapter ? adapter.converter : converter;
+    }
+
+    private @NotNull NonGenericConverter resolve(@Nullable final Type sourceType, @NotNull final Type targetType) {
         // Try to get converter from registrar
-        converter = this.registrar.find(sourceType, targetType);
+        final NonGenericConverter converter = this.registrar.find(sourceType, targetType);
+
+        if (converter != null) {
+            // Let registered converters select their conversion once for this pair of types
+            return sourceType instanceof final Class<?> sourceClass && converter instanceof final ConverterAdapter adapter
+                ? adapter.specialized(sourceClass, targetType)
+                : converter;
+        }
 
         // Check whether a conversion is necessary at all
-        if (converter == null && sourceType != null) {
+        if (sourceType != null) {
             final Class<?> erasedSourceType = GenericTypeReflector.erase(sourceType);
             final Class<?> erasedTargetType = GenericTypeReflector.erase(targetType);
 
             if (erasedTargetType.isAssignableFrom(erasedSourceType)) {
                 // Use a non-operating converter
-                converter = NO_OP_CONVERTER;
+                return NO_OP_CONVERTER;
             }
         }
 
-        // Check whether the converter is suitable or not
-        if (converter != null) {
-            // Cache the suitable converter
-            this.cache.put(cacheKey, converter);
-            return converter;
-        }
+        // Remember that no suitable converter was found
+        return NO_MATCH_CONVERTER;
+    }
 
-        // Cache that no suitable converter was found
-        this.cache.put(cacheKey, NO_MATCH_CONVERTER);
-        return null;
+    /**
+     * Creates a bus of the same kind with a copy of the registered converters and of the converters resolved between
+     * plain classes so far. Later changes to this bus do not affect the copy.
+     *
+     * @return the copy of this bus
+     */
+    @NotNull BasicConversionBus snapshot() {
+        final BasicConversionBus snapshot = this.snapshot(this.registrar.copy());
+        this.cache.classConversions().forEach((path, converter) ->
+            snapshot.cache.put(path.sourceType(), path.targetType(), converter));
+        return snapshot;
     }
 
-    private void invalidateCache() {
-        this.cache.clear();
+    @NotNull BasicConversionBus snapshot(@NotNull final ConverterRegistrar registrar) {
+        return new BasicConversionBus(registrar, this.cachePolicy);
+    }
+
+    @NotNull CachePolicy cachePolicy() {
+        return this.cachePolicy;
+    }
+
+    int modifications() {
+        return this.modifications.get();
+    }
+
+    private void invalidateCache(@NotNull final Set<ConversionPath> paths) {
+        // Let bound conversions know that their converters may be outdated
+        this.modifications.incrementAndGet();
+
+        // Converters without paths may be suitable for any conversion
+        if (paths.isEmpty() || !this.registrar.isolatedPaths()) {
+            this.cache.clear();
+            return;
+        }
+
+        // Only evict the conversions, which could use one of the paths
+        this.cache.invalidate(paths);
     }
 
     @SuppressWarnings("unchecked")
@@ -166,8 +313,23 @@ private static final class ConverterAdapter implements NonGenericConverter {
         private final ConversionPath path;
 
         private ConverterAdapter(final Converter<?, ?> converter, final Class<?> sourceType, final Class<?> targetType) {
+            this(converter, new ConversionPath(sourceType, targetType));
+        }
+
+        private ConverterAdapter(final Converter<?, ?> converter, final ConversionPath path) {
             this.converter = (Converter<Object, Object>) converter;
-            this.path = new ConversionPath(sourceType, targetType);
+            this.path = path;
+        }
+
+        private @NotNull ConverterAdapter specialized(@NotNull final Class<?> sourceType, @NotNull final Type targetType) {
+            final Converter<Object, Object> specialized = this.converter.specialize(sourceType, targetType);
+            // Keep the path, so that the cached adapter is invalidated together with the registered one
+            return specialized == this.converter ? this : new ConverterAdapter(specialized, this.path);
+        }
+
+        @Override
+        public int cost() {
+            return this.converter.cost();
         }
 
         @Override
@@ -188,14 +350,41 @@ public boolean isSuitable(final @Nullable Type sourceType, @NotNull final Type t
             }
             return this.converter.convert(source, sourceType != null ? sourceType : Object.class, targetType);
         }
+
+        @Override
+        public @Nullable Object tryConvert(final @Nullable Object source, final @Nullable Type sourceType, @NotNull final Type targetType) {
+            if (source == null) {
+                return null;
+            }
+            return this.converter.tryConvert(source, sourceType != null ? sourceType : Object.class, targetType);
+        }
     }
 
     protected static class ConverterRegistrar {
 
         protected final Map<ConversionPath, Deque<NonGenericConverter>> converters = new ConcurrentHashMap<>();
+        protected final Map<Class<?>, Set<ConversionPath>> pathsByTarget = new ConcurrentHashMap<>();
         protected final Set<NonGenericConverter> globalConverters = new CopyOnWriteArraySet<>();
 
-        private void add(@NotNull final NonGenericConverter converter) {
+        /**
+         * Returns a registrar with the same converters, which is not affected by later changes to this registrar.
+         *
+         * @return the copy of this registrar
+         */
+        protected @NotNull ConverterRegistrar copy() {
+            return this.copyTo(new ConverterRegistrar());
+        }
+
+        protected final <R extends ConverterRegistrar> @NotNull R copyTo(@NotNull final R registrar) {
+            requireNonNull(registrar, "registrar");
+            // Keep the order of the converters, as the first suitable one is used
+            this.converters.forEach((path, converters) -> registrar.converters.put(path, new ConcurrentLinkedDeque<>(converters)));
+            this.pathsByTarget.forEach((targetType, paths) -> registrar.pathsByTarget.put(targetType, new CopyOnWriteArraySet<>(paths)));
+            registrar.globalConverters.addAll(this.globalConverters);
+            return registrar;
+        }
+
+        protected void add(@NotNull final NonGenericConverter converter) {
             requireNonNull(converter, "converter");
             final Set<ConversionPath> paths = converter.paths();
 
@@ -206,13 +395,20 @@ private void add(@NotNull final NonGenericConverter converter) {
 
             for (final ConversionPath conversionPath : paths) {
                 this.converters.computeIfAbsent(conversionPath, k -> new ConcurrentLinkedDeque<>()).add(converter);
+                this.pathsByTarget.computeIfAbsent(conversionPath.targetType(), k -> new CopyOnWriteArraySet<>()).add(conversionPath);
             }
         }
 
-        private void remove(@NotNull final Class<?> sourceType, @NotNull final Class<?> targetType) {
+        protected void remove(@NotNull final Class<?> sourceType, @NotNull final Class<?> targetType) {
             requireNonNull(sourceType, "sourceType");
             requireNonNull(targetType, "targetType");
-            this.converters.remove(new ConversionPath(sourceType, targetType));
+            final ConversionPath path = new ConversionPath(sourceType, targetType);
+            this.converters.remove(path);
+
+            final Set<ConversionPath> targetPaths = this.pathsByTarget.get(targetType);
+            if (targetPaths != null) {
+                targetPaths.remove(path);
+            }
         }
 
         private void remove(@NotNull final NonGenericConverter converter) {
@@ -224,50 +420,85 @@ private void remove(@NotNull final NonGenericConverter converter) {
             }
         }
 
+        /**
+         * Returns whether the converters of a path are only used for conversions whose type trees contain the path.
+         * Registrars that combine converters across paths have to return false, which makes every change to the
+         * registered converters invalidate the whole cache.
+         *
+         * @return true, if changes to a path only affect conversions along that path, false if not
+         */
+        protected boolean isolatedPaths() {
+            return true;
+        }
+
         protected NonGenericConverter find(@Nullable final Type sourceType, @NotNull final Type targetType) {
             requireNonNull(targetType, "targetType");
             // Search the full type tree
             final List<Class<?>> sourceTree = sourceType != null
-                ? ClassTreeUtil.collect(GenericTypeReflector.box(sourceType))
+                ? ClassTreeUtil.collect(sourceType)
                 : Collections.singletonList(null);
-            final List<Class<?>> targetTree = ClassTreeUtil.collect(GenericTypeReflector.box(targetType));
+            final List<Class<?>> targetTree = ClassTreeUtil.collect(targetType);
+            boolean globalConvertersChecked = false;
 
             for (final Class<?> targetCandidate : targetTree) {
                 for (final Class<?> sourceCandidate : sourceTree) {
-                    final ConversionPath path = new ConversionPath(sourceCandidate, targetCandidate);
-                    final NonGenericConverter converter = this.converter(sourceType, targetType, path);
+                    NonGenericConverter converter = this.converter(sourceType, targetType, sourceCandidate, targetCandidate);
 
                     if (converter != null) {
                         return converter;
                     }
+
+                    // Conditional converters do not depend on the path, so they only need to be checked once
+                    if (!globalConvertersChecked) {
+                        globalConvertersChecked = true;
+                        converter = this.globalConverter(sourceType, targetType);
+
+                        if (converter != null) {
+                            return converter;
+                        }
+                    }
                 }
             }
 
             return null;
         }
 
-        private NonGenericConverter converter(@Nullable final Type sourceType, @NotNull final Type targetType, @NotNull final ConversionPath path) {
+        private NonGenericConverter converter(@Nullable final Type sourceType, @NotNull final Type targetType,
+            @Nullable final Class<?> sourceCandidate, @NotNull final Class<?> targetCandidate
+        ) {
             requireNonNull(targetType, "targetType");
-            requireNonNull(path, "path");
+            requireNonNull(targetCandidate, "targetCandidate");
             // Check specifically registered converters
-            final Deque<NonGenericConverter> convertersForPath = this.converters.entrySet()
-                .stream()
-                .filter(entry -> entry.getKey().equals(path))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(null);
-
-            if (convertersForPath != null) {
-                for (final NonGenericConverter converter : convertersForPath) {
-                    if (!converter.isSuitable(sourceType, targetType)) {
-                        continue;
-                    }
+            if (sourceCandidate != null) {
+                final ConversionPath path = new ConversionPath(sourceCandidate, targetCandidate);
+                return this.suitableConverter(this.converters.get(path), sourceType, targetType);
+            }
+
+            // Without a source every converter to the target candidate is a candidate
+            final Set<ConversionPath> targetPaths = this.pathsByTarget.get(targetCandidate);
+            if (targetPaths == null) {
+                return null;
+            }
+
+            for (final ConversionPath path : targetPaths) {
+                final NonGenericConverter converter = this.suitableConverter(this.converters.get(path), sourceType, targetType);
+
+                if (converter != null) {
                     return converter;
                 }
             }
 
-            // Check ConditionalConverters for a dynamic match
-            for (final NonGenericConverter converter : this.globalConverters) {
+            return null;
+        }
+
+        private NonGenericConverter suitableConverter(@Nullable final Deque<NonGenericConverter> convertersForPath,
+            @Nullable final Type sourceType, @NotNull final Type targetType
+        ) {
+            if (convertersForPath == null) {
+                return null;
+            }
+
+            for (final NonGenericConverter converter : convertersForPath) {
                 if (converter.isSuitable(sourceType, targetType)) {
                     return converter;
                 }
@@ -275,20 +506,16 @@ private NonGenericConverter converter(@Nullable final Type sourceType, @NotNull
 
             return null;
         }
-    }
-
-    record CacheKey(Type sourceType, @NotNull Type targetType) {
 
-        @Override
-        public boolean equals(@Nullable final Object other) {
-            if (this == other) {
-                return true;
-            }
-            if (!(other instanceof final CacheKey otherCacheKey)) {
-                return false;
+        private NonGenericConverter globalConverter(@Nullable final Type sourceType, @NotNull final Type targetType) {
+            // Check ConditionalConverters for a dynamic match
+            for (final NonGenericConverter converter : this.globalConverters) {
+                if (converter.isSuitable(sourceType, targetType)) {
+                    return converter;
+                }
             }
 
-            return (this.sourceType != null && this.sourceType.equals(otherCacheKey.sourceType)) && this.targetType.equals(otherCacheKey.targetType);
+            return null;
         }
     }
 
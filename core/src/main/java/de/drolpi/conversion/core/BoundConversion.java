@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * Represents a conversion to a fixed target type, whose converters are resolved once per runtime class of the source
+ * objects instead of once per conversion.
+ *
+ * @param <S> the source type
+ * @param <T> the target type
+ */
+public interface BoundConversion<S, T> extends Function<S, T> {
+
+    /**
+     * Converts the given {@code source} to the target type of this conversion.
+     *
+     * @param source the source object to convert
+     * @return the converted object, an instance of the target type
+     */
+    @Override
+    @Nullable T apply(@Nullable S source);
+
+    /**
+     * Returns the target type of this conversion.
+     *
+     * @return the target type
+     */
+    @NotNull Type targetType();
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Represents the strategy a conversion bus uses to store the converters it resolved for parameterized types.
+ * <p>
+ * Conversions between plain classes are not affected by the policy and their number is not bounded. They are attached
+ * to the source class, or to the target class for conversions of {@code null}, and are released together with it.
+ */
+public interface CachePolicy {
+
+    /**
+     * Returns a policy, which keeps every resolved converter until the registered converters change.
+     *
+     * @return the unbounded policy
+     */
+    static @NotNull CachePolicy unbounded() {
+        return UnboundedCachePolicy.INSTANCE;
+    }
+
+    /**
+     * Returns a policy, which keeps at most {@code maximumSize} resolved converters. When the cache is full, the CLOCK
+     * algorithm evicts an entry which has not been used since the last sweep, so that frequently used conversions stay
+     * resident.
+     *
+     * @param maximumSize the maximum number of cached converters
+     * @return the bounded policy
+     */
+    static @NotNull CachePolicy clock(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        return new ClockCachePolicy(maximumSize);
+    }
+
+    /**
+     * Creates a new, empty and thread-safe cache.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the cache
+     */
+    <K, V> @NotNull Cache<K, V> createCache();
+
+    interface Cache<K, V> {
+
+        @Nullable V get(@NotNull K key);
+
+        void put(@NotNull K key, @NotNull V value);
+
+        void removeIf(@NotNull Predicate<? super K> filter);
+
+        void clear();
+
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core;
+
+/**
+ * Represents the counters of the conversions, which a conversion bus has run through chains of converters. The buses
+ * created by {@link ConversionBus#createAlgorithm()} and its variants implement this interface.
+ */
+public interface ChainStatistics {
+
+    /**
+     * Returns the number of conversions, which succeeded by any of their chains.
+     *
+     * @return the number of successful conversions
+     */
+    long successes();
+
+    /**
+     * Returns the number of chains, which failed to convert a source. A conversion, which succeeds by its second
+     * chain, counts as one success and one failure.
+     *
+     * @return the number of failed chains
+     */
+    long failures();
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+record ClockCachePolicy(int maximumSize) implements CachePolicy {
+
+    @Override
+    public <K, V> @NotNull Cache<K, V> createCache() {
+        return new ClockCache<>(this.maximumSize);
+    }
+
+    private static final class ClockCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, Node<K, V>> entries;
+        // The clock, every used slot holds the node of exactly one entry
+        private final Node<K, V>[] slots;
+        private int hand;
+        private int size;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ClockCache(final int maximumSize) {
+            this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 64));
+            this.slots = (Node<K, V>[]) new Node[maximumSize];
+        }
+
+        @Override
+        public @Nullable V get(@NotNull final K key) {
+            final Node<K, V> node = this.entries.get(key);
+
+            if (node == null) {
+                return null;
+            }
+
+            // Only written when not yet set, so that hot entries do not write on every hit. The flag is a hint, a hit
+            // racing with a sweep may get its entry evicted anyway, which only costs a later miss
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            return node.value;
+        }
+
+        @Override
+        public synchronized void put(@NotNull final K key, @NotNull final V value) {
+            requireNonNull(key, "key");
+            requireNonNull(value, "value");
+            final Node<K, V> existing = this.entries.get(key);
+            final int slot;
+
+            if (existing != null) {
+                slot = existing.slot;
+            } else {
+                slot = this.size < this.slots.length ? this.freeSlot() : this.evict();
+                this.size++;
+            }
+
+            final Node<K, V> node = new Node<>(key, value, slot);
+            this.slots[slot] = node;
+            this.entries.put(key, node);
+        }
+
+        @Override
+        public synchronized void removeIf(@NotNull final Predicate<? super K> filter) {
+            requireNonNull(filter, "filter");
+            for (int i = 0; i < this.slots.length; i++) {
+                final Node<K, V> node = this.slots[i];
+
+                if (node != null && filter.test(node.key)) {
+                    this.entries.remove(node.key);
+                    this.slots[i] = null;
+                    this.size--;
+                }
+            }
+        }
+
+        @Override
+        public synchronized void clear() {
+            this.entries.clear();
+            Arrays.fill(this.slots, null);
+            this.size = 0;
+        }
+
+        private int freeSlot() {
+            while (this.slots[this.hand] != null) {
+                this.advance();
+            }
+            return this.advance();
+        }
+
+        private int evict() {
+            // Give every entry, which has been used since the last sweep, a second chance
+            while (true) {
+                final Node<K, V> node = this.slots[this.hand];
+
+                if (!node.referenced) {
+                    this.entries.remove(node.key);
+                    this.slots[this.hand] = null;
+                    this.size--;
+                    return this.advance();
+                }
+
+                node.referenced = false;
+                this.advance();
+            }
+        }
+
+        private int advance() {
+            // Returns the slot the hand has been moved away from
+            final int slot = this.hand;
+            this.hand = slot + 1 == this.slots.length ? 0 : slot + 1;
+            return slot;
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final int slot;
+        // Volatile, as hits set it without holding the lock of the cache, which the sweep holds while clearing it
+        private volatile boolean referenced;
+
+        private Node(final K key, final V value, final int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
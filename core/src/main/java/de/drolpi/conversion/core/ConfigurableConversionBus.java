@@ -16,10 +16,40 @@
 
 package de.drolpi.conversion.core;
 
+import de.drolpi.conversion.core.converter.ConversionPath;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
 /**
  * Represents a configurable conversion bus that extends the read-only operations exposed by {@link ConversionBus} and
  * the mutating operations of {@link ConverterRegistry}.
  */
 public interface ConfigurableConversionBus extends ConverterRegistry, ConversionBus {
 
+    /**
+     * Creates a read-only conversion bus, which has the converters for every pair of classes this bus has converted
+     * between so far and for every registered path from a concrete class resolved in advance. Registered paths from
+     * interfaces or abstract classes are left out, because the table is looked up by the classes of the source
+     * objects. Conversions between other classes fall through to a copy of the registered converters like those of
+     * {@link #freeze(Set)}.
+     *
+     * @return the frozen conversion bus
+     * @see #freeze(Set)
+     */
+    @NotNull ConversionBus freeze();
+
+    /**
+     * Creates a read-only conversion bus, which has the converters for the given {@code paths} resolved in advance.
+     * Conversions along these paths are looked up in an immutable table. Since the table is looked up by the classes
+     * of the source objects, the paths should consist of concrete classes. All other conversions are resolved by a
+     * copy of the converters registered at this point.
+     * <p>
+     * Converters registered or unregistered afterwards are not reflected in the frozen bus. Converters, which have been
+     * created with this bus to convert elements, still convert their elements through this bus.
+     *
+     * @param paths the paths to resolve
+     * @return the frozen conversion bus
+     */
+    @NotNull ConversionBus freeze(@NotNull Set<ConversionPath> paths);
 }
@@ -16,11 +16,15 @@
 
 package de.drolpi.conversion.core;
 
+import de.drolpi.conversion.core.exception.ConversionFailedException;
 import io.leangen.geantyref.TypeToken;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
@@ -33,18 +37,54 @@ public interface ConversionBus {
         return new BasicConversionBus();
     }
 
+    static @NotNull ConfigurableConversionBus create(@NotNull final CachePolicy cachePolicy) {
+        requireNonNull(cachePolicy, "cachePolicy");
+        return new BasicConversionBus(cachePolicy);
+    }
+
     static @NotNull ConfigurableConversionBus createDefault() {
         return new DefaultConversionBus();
     }
 
+    static @NotNull ConfigurableConversionBus createDefault(@NotNull final CachePolicy cachePolicy) {
+        requireNonNull(cachePolicy, "cachePolicy");
+        return new DefaultConversionBus(cachePolicy);
+    }
+
     static @NotNull ConfigurableConversionBus createAlgorithm() {
         return new AlgorithmConversionBus();
     }
 
+    static @NotNull ConfigurableConversionBus createAlgorithm(@NotNull final CachePolicy cachePolicy) {
+        requireNonNull(cachePolicy, "cachePolicy");
+        return new AlgorithmConversionBus(cachePolicy);
+    }
+
+    static @NotNull ConfigurableConversionBus createAlgorithm(@NotNull final CachePolicy cachePolicy,
+        @NotNull final SearchPolicy searchPolicy
+    ) {
+        requireNonNull(cachePolicy, "cachePolicy");
+        requireNonNull(searchPolicy, "searchPolicy");
+        return new AlgorithmConversionBus(cachePolicy, searchPolicy);
+    }
+
     static @NotNull ConfigurableConversionBus createAlgorithmDefault() {
         return new DefaultAlgorithmConversionBus();
     }
 
+    static @NotNull ConfigurableConversionBus createAlgorithmDefault(@NotNull final CachePolicy cachePolicy) {
+        requireNonNull(cachePolicy, "cachePolicy");
+        return new DefaultAlgorithmConversionBus(cachePolicy);
+    }
+
+    static @NotNull ConfigurableConversionBus createAlgorithmDefault(@NotNull final CachePolicy cachePolicy,
+        @NotNull final SearchPolicy searchPolicy
+    ) {
+        requireNonNull(cachePolicy, "cachePolicy");
+        requireNonNull(searchPolicy, "searchPolicy");
+        return new DefaultAlgorithmConversionBus(cachePolicy, searchPolicy);
+    }
+
     /**
      * Returns whether this conversion bus can convert objects of {@code sourceType} to the {@code targetType}.
      *
@@ -54,6 +94,135 @@ public interface ConversionBus {
      */
     boolean canConvert(@Nullable Type sourceType, @NotNull Type targetType);
 
+    /**
+     * Returns a conversion of objects of {@code sourceType} to the {@code targetType}, which resolves the converter
+     * once per runtime class of the source objects. Converting many objects through the returned conversion avoids
+     * the cache lookup of {@link #convert(Object, Type)} for every single object.
+     * <p>
+     * By default, the returned conversion converts every object by {@link #convert(Object, Type)}.
+     *
+     * @param sourceType the source type to convert from
+     * @param targetType the target type as {@link Type} to convert to
+     * @return the bound conversion
+     */
+    default <S> @NotNull BoundConversion<S, Object> lookup(@NotNull Class<S> sourceType, @NotNull Type targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        return new BoundConversion<>() {
+            @Override
+            public @Nullable Object apply(@Nullable final S source) {
+                return ConversionBus.this.convert(source, targetType);
+            }
+
+            @Override
+            public @NotNull Type targetType() {
+                return targetType;
+            }
+        };
+    }
+
+    /**
+     * Returns a conversion of objects of {@code sourceType} to the {@code targetType}.
+     *
+     * @param sourceType the source type to convert from
+     * @param targetType the target type as {@link Class} to convert to
+     * @return the bound conversion
+     * @see #lookup(Class, Type)
+     */
+    @SuppressWarnings("unchecked")
+    default <S, T> @NotNull BoundConversion<S, T> lookup(@NotNull Class<S> sourceType, @NotNull Class<T> targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        return (BoundConversion<S, T>) (BoundConversion<S, ?>) this.lookup(sourceType, (Type) targetType);
+    }
+
+    /**
+     * Returns a conversion of objects of {@code sourceType} to the {@code targetType}.
+     *
+     * @param sourceType the source type to convert from
+     * @param targetType the target type as {@link TypeToken} to convert to
+     * @return the bound conversion
+     * @see #lookup(Class, Type)
+     */
+    @SuppressWarnings("unchecked")
+    default <S, T> @NotNull BoundConversion<S, T> lookup(@NotNull Class<S> sourceType, @NotNull TypeToken<T> targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        return (BoundConversion<S, T>) (BoundConversion<S, ?>) this.lookup(sourceType, targetType.getType());
+    }
+
+    /**
+     * Converts all the given {@code sources} to the specified {@code targetType} and returns the results in the order
+     * of their sources.
+     *
+     * @param sources the source objects to convert
+     * @param targetType the target type as {@link Type} to convert to
+     * @return the converted objects, instances of targetType
+     * @see #convertAll(Iterable, Type, Collection)
+     */
+    default @NotNull List<Object> convertAll(@NotNull Iterable<?> sources, @NotNull Type targetType) {
+        requireNonNull(sources, "sources");
+        requireNonNull(targetType, "targetType");
+        final List<Object> targets = sources instanceof Collection<?> collection
+            ? new ArrayList<>(collection.size())
+            : new ArrayList<>();
+        this.convertAll(sources, targetType, targets);
+        return targets;
+    }
+
+    /**
+     * Converts all the given {@code sources} to the specified {@code targetType} and adds the results to
+     * {@code targets} in the order of their sources. The converter is resolved once per runtime class of the sources
+     * instead of once per source.
+     *
+     * @param sources the source objects to convert
+     * @param targetType the target type as {@link Type} to convert to
+     * @param targets the collection to add the converted objects to
+     */
+    @SuppressWarnings("unchecked")
+    default void convertAll(@NotNull Iterable<?> sources, @NotNull Type targetType, @NotNull Collection<Object> targets) {
+        requireNonNull(sources, "sources");
+        requireNonNull(targetType, "targetType");
+        requireNonNull(targets, "targets");
+        BoundConversion<Object, Object> conversion = null;
+
+        for (final Object source : sources) {
+            if (conversion == null && source != null) {
+                // The class of the first source is usually the class of the others as well, so it is resolved in advance
+                conversion = this.lookup((Class<Object>) source.getClass(), targetType);
+            }
+
+            targets.add(conversion != null ? conversion.apply(source) : this.convert(null, targetType));
+        }
+    }
+
+    /**
+     * Converts all the given {@code sources} to the specified {@code targetType} and stores the results in
+     * {@code targets} at the index of their sources. The converter is resolved once per runtime class of the sources
+     * instead of once per source.
+     *
+     * @param sources the source objects to convert
+     * @param targetType the target type as {@link Type} to convert to
+     * @param targets the array to store the converted objects in, at least as long as sources
+     */
+    @SuppressWarnings("unchecked")
+    default void convertAll(@NotNull Object[] sources, @NotNull Type targetType, @NotNull Object[] targets) {
+        requireNonNull(sources, "sources");
+        requireNonNull(targetType, "targetType");
+        requireNonNull(targets, "targets");
+        if (targets.length < sources.length) {
+            throw new IllegalArgumentException("targets must be at least as long as sources");
+        }
+
+        // The component type is usually the runtime class of the sources, so it is resolved in advance
+        final BoundConversion<Object, Object> conversion =
+            this.lookup((Class<Object>) sources.getClass().getComponentType(), targetType);
+
+        for (int i = 0; i < sources.length; i++) {
+            targets[i] = conversion.apply(sources[i]);
+        }
+    }
+
     /**
      * Converts the given {@code source} to the specified {@code targetType}.
      *
@@ -88,4 +257,67 @@ public interface ConversionBus {
         requireNonNull(targetType, "targetType");
         return (T) this.convert(source, targetType.getType());
     }
+
+    /**
+     * Converts the given {@code source} to a primitive {@code int}. If a suitable converter supports
+     * the conversion to primitives, the value is converted without boxing.
+     *
+     * @param source the source object to convert
+     * @return the converted value
+     * @throws ConversionFailedException if the source can not be converted to a value
+     */
+    default int convertToInt(@NotNull Object source) {
+        requireNonNull(source, "source");
+        return this.convertToPrimitive(source, Integer.class, int.class).intValue();
+    }
+
+    /**
+     * Converts the given {@code source} to a primitive {@code long}.
+     *
+     * @param source the source object to convert
+     * @return the converted value
+     * @throws ConversionFailedException if the source can not be converted to a value
+     * @see #convertToInt(Object)
+     */
+    default long convertToLong(@NotNull Object source) {
+        requireNonNull(source, "source");
+        return this.convertToPrimitive(source, Long.class, long.class).longValue();
+    }
+
+    /**
+     * Converts the given {@code source} to a primitive {@code double}.
+     *
+     * @param source the source object to convert
+     * @return the converted value
+     * @throws ConversionFailedException if the source can not be converted to a value
+     * @see #convertToInt(Object)
+     */
+    default double convertToDouble(@NotNull Object source) {
+        requireNonNull(source, "source");
+        return this.convertToPrimitive(source, Double.class, double.class).doubleValue();
+    }
+
+    /**
+     * Converts the given {@code source} to a primitive {@code boolean}.
+     *
+     * @param source the source object to convert
+     * @return the converted value
+     * @throws ConversionFailedException if the source can not be converted to a value
+     * @see #convertToInt(Object)
+     */
+    default boolean convertToBoolean(@NotNull Object source) {
+        requireNonNull(source, "source");
+        return this.convertToPrimitive(source, Boolean.class, boolean.class).booleanValue();
+    }
+
+    private <T> @NotNull T convertToPrimitive(@NotNull Object source, @NotNull Class<T> boxedType, @NotNull Class<?> primitiveType) {
+        final T target = this.convert(source, boxedType);
+
+        if (target == null) {
+            // A primitive can not represent the absence of a value
+            throw new ConversionFailedException(source.getClass(), primitiveType, source);
+        }
+
+        return target;
+    }
 }
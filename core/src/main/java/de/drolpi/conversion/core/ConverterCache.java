@@ -0,0 +1,317 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import de.drolpi.conversion.core.converter.ConversionPath;
+import de.drolpi.conversion.core.converter.NonGenericConverter;
+import de.drolpi.conversion.core.util.ClassTreeUtil;
+import io.leangen.geantyref.GenericTypeReflector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the converters resolved by a conversion bus.
+ * <p>
+ * Conversions between plain classes are stored in a table per source class, which maps the target classes to their
+ * converters. Conversions of {@code null} to a plain class are stored in a table of target classes. These tables are
+ * owned by the cache, so that they are released together with the bus, and reference classes only weakly, so that
+ * entries are dropped together with their class unless a cached converter references it. They are not bounded by the
+ * {@link CachePolicy}. All other conversions are stored in a cache keyed by both types, whose size is limited by the
+ * {@link CachePolicy} of the bus. Its keys are made of interned types, so that parameterized types are neither hashed
+ * nor compared deeply on a lookup.
+ */
+final class ConverterCache {
+
+    private final CachePolicy.Cache<CacheKey, NonGenericConverter> cache;
+    private final TypeInterner interner = new TypeInterner();
+    // Owned by this cache instead of being attached to the classes, as the cached converters may reference the bus
+    private volatile ClassTable<ClassTable<NonGenericConverter>> classCache = new ClassTable<>();
+    private volatile ClassTable<NonGenericConverter> nullSourceCache = new ClassTable<>();
+
+    ConverterCache(@NotNull final CachePolicy policy) {
+        requireNonNull(policy, "policy");
+        this.cache = policy.createCache();
+    }
+
+    @Nullable NonGenericConverter get(@Nullable final Type sourceType, @NotNull final Type targetType) {
+        if (targetType instanceof final Class<?> targetClass) {
+            if (sourceType instanceof final Class<?> sourceClass) {
+                // Plain classes are looked up in the table of the source class, which does not allocate on a hit
+                final ClassTable<NonGenericConverter> table = this.classCache.get(sourceClass);
+                return table != null ? table.get(targetClass) : null;
+            }
+            if (sourceType == null) {
+                return this.nullSourceCache.get(targetClass);
+            }
+        }
+
+        return this.cache.get(this.key(sourceType, targetType));
+    }
+
+    void put(@Nullable final Type sourceType, @NotNull final Type targetType, @NotNull final NonGenericConverter converter) {
+        requireNonNull(targetType, "targetType");
+        requireNonNull(converter, "converter");
+        if (targetType instanceof final Class<?> targetClass) {
+            if (sourceType instanceof final Class<?> sourceClass) {
+                this.classCache.computeIfAbsent(sourceClass, type -> new ClassTable<>()).put(targetClass, converter);
+                return;
+            }
+            if (sourceType == null) {
+                this.nullSourceCache.put(targetClass, converter);
+                return;
+            }
+        }
+
+        this.cache.put(this.key(sourceType, targetType), converter);
+    }
+
+    /**
+     * Returns the converters resolved so far for conversions between plain classes, including the conversions which
+     * have been resolved without a result.
+     *
+     * @return the resolved conversions by their path
+     */
+    @NotNull Map<ConversionPath, NonGenericConverter> classConversions() {
+        final Map<ConversionPath, NonGenericConverter> conversions = new HashMap<>();
+        this.classCache.forEach((sourceType, table) -> table.forEach((targetType, converter) ->
+            conversions.put(new ConversionPath(sourceType, targetType), converter)));
+        return conversions;
+    }
+
+    private @NotNull CacheKey key(@Nullable final Type sourceType, @NotNull final Type targetType) {
+        return new CacheKey(sourceType != null ? this.interner.intern(sourceType) : null, this.interner.intern(targetType));
+    }
+
+    /**
+     * Removes every cached conversion which could be resolved differently after converters for the given paths have
+     * been added or removed.
+     * <p>
+     * A conversion is affected if a path connects the type tree of its source type with the type tree of its target
+     * type. Element types of arrays and parameterized types count as well, because converters for containers check the
+     * conversion of their elements to decide whether they are suitable.
+     *
+     * @param paths the paths of the added or removed converters
+     */
+    void invalidate(@NotNull final Set<ConversionPath> paths) {
+        requireNonNull(paths, "paths");
+        final AffectedConversions affected = new AffectedConversions(paths);
+
+        this.cache.removeIf(key -> affected.test(key.sourceType() != null ? key.sourceType().type() : null, key.targetType().type()));
+        this.classCache.forEach((sourceType, table) ->
+            table.removeIf((targetType, converter) -> affected.test(sourceType, targetType)));
+        this.nullSourceCache.removeIf((targetType, converter) -> affected.test(null, targetType));
+    }
+
+    void clear() {
+        this.cache.clear();
+        this.classCache = new ClassTable<>();
+        this.nullSourceCache = new ClassTable<>();
+    }
+
+    record CacheKey(@Nullable TypeInterner.TypeKey sourceType, @NotNull TypeInterner.TypeKey targetType) {
+
+    }
+
+    private static final class AffectedConversions implements BiPredicate<Type, Type> {
+
+        private final Set<ConversionPath> paths;
+
+        private AffectedConversions(final Set<ConversionPath> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        public boolean test(@Nullable final Type sourceType, @NotNull final Type targetType) {
+            final Set<Class<?>> sourceTypes = sourceType != null ? this.collectTypes(sourceType, new HashSet<>()) : null;
+            final Set<Class<?>> targetTypes = this.collectTypes(targetType, new HashSet<>());
+
+            for (final ConversionPath path : this.paths) {
+                // Conversions without a source type may use a converter of any source type
+                if ((sourceTypes == null || this.inTree(path.sourceType(), sourceTypes)) && this.inTree(path.targetType(), targetTypes)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private boolean inTree(final Class<?> candidate, final Set<Class<?>> types) {
+            for (final Class<?> type : types) {
+                if (ClassTreeUtil.collect(type).contains(candidate)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private Set<Class<?>> collectTypes(final Type type, final Set<Class<?>> types) {
+            if (type instanceof final ParameterizedType parameterizedType) {
+                types.add(GenericTypeReflector.erase(parameterizedType));
+                for (final Type argument : parameterizedType.getActualTypeArguments()) {
+                    this.collectTypes(argument, types);
+                }
+            } else if (type instanceof final GenericArrayType arrayType) {
+                types.add(GenericTypeReflector.erase(arrayType));
+                this.collectTypes(arrayType.getGenericComponentType(), types);
+            } else if (type instanceof final WildcardType wildcardType) {
+                for (final Type bound : wildcardType.getUpperBounds()) {
+                    this.collectTypes(bound, types);
+                }
+                for (final Type bound : wildcardType.getLowerBounds()) {
+                    this.collectTypes(bound, types);
+                }
+            } else if (type instanceof final Class<?> classType) {
+                if (types.add(classType) && classType.isArray()) {
+                    this.collectTypes(classType.getComponentType(), types);
+                }
+            } else {
+                // Type variables are only considered with their erasure to avoid following recursive bounds
+                types.add(GenericTypeReflector.erase(type));
+            }
+
+            return types;
+        }
+    }
+
+    /**
+     * A table of values by class, which is owned by a single cache. Reads need no lock, as the entries are replaced as a
+     * whole on every write. Classes are only referenced weakly, cleared keys stay in place until the next write.
+     *
+     * @param <V> the type of the values
+     */
+    private static final class ClassTable<V> {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        // Alternating weak references to the keys and the values
+        private volatile Object[] entries = new Object[INITIAL_CAPACITY * 2];
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private @Nullable V get(@NotNull final Class<?> type) {
+            final Object[] entries = this.entries;
+            final int mask = (entries.length >> 1) - 1;
+
+            for (int index = System.identityHashCode(type) & mask; ; index = (index + 1) & mask) {
+                final WeakReference<?> key = (WeakReference<?>) entries[index << 1];
+                if (key == null) {
+                    return null;
+                }
+                if (key.get() == type) {
+                    return (V) entries[(index << 1) + 1];
+                }
+            }
+        }
+
+        private synchronized @NotNull V computeIfAbsent(@NotNull final Class<?> type, @NotNull final Function<Class<?>, V> factory) {
+            V value = this.get(type);
+            if (value == null) {
+                value = factory.apply(type);
+                this.put(type, value);
+            }
+            return value;
+        }
+
+        private synchronized void put(@NotNull final Class<?> type, @NotNull final V value) {
+            final Object[] entries = this.entries;
+            int capacity = entries.length >> 1;
+
+            // Keep at least half of the slots free, so that probing stays short and always terminates
+            if ((this.size + 1) * 2 > capacity) {
+                capacity <<= 1;
+            }
+
+            final Object[] copy = new Object[capacity << 1];
+            int size = 0;
+            for (int i = 0; i < entries.length; i += 2) {
+                final Class<?> key = key(entries[i]);
+                if (key != null && key != type) {
+                    insert(copy, entries[i], key, entries[i + 1]);
+                    size++;
+                }
+            }
+
+            insert(copy, new WeakReference<>(type), type, value);
+            this.size = size + 1;
+            this.entries = copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized void removeIf(@NotNull final BiPredicate<Class<?>, V> predicate) {
+            final Object[] entries = this.entries;
+            final Object[] copy = new Object[entries.length];
+            int size = 0;
+
+            for (int i = 0; i < entries.length; i += 2) {
+                final Class<?> key = key(entries[i]);
+                if (key != null && !predicate.test(key, (V) entries[i + 1])) {
+                    insert(copy, entries[i], key, entries[i + 1]);
+                    size++;
+                }
+            }
+
+            if (size != this.size) {
+                this.size = size;
+                this.entries = copy;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void forEach(@NotNull final BiConsumer<Class<?>, V> action) {
+            final Object[] entries = this.entries;
+            for (int i = 0; i < entries.length; i += 2) {
+                final Class<?> key = key(entries[i]);
+                if (key != null) {
+                    action.accept(key, (V) entries[i + 1]);
+                }
+            }
+        }
+
+        private static void insert(final Object[] entries, final Object reference, final Class<?> type, final Object value) {
+            // Only called for keys, which are not contained in the entries yet
+            final int mask = (entries.length >> 1) - 1;
+            int index = System.identityHashCode(type) & mask;
+
+            while (entries[index << 1] != null) {
+                index = (index + 1) & mask;
+            }
+
+            entries[index << 1] = reference;
+            entries[(index << 1) + 1] = value;
+        }
+
+        private static @Nullable Class<?> key(@Nullable final Object reference) {
+            return reference != null ? (Class<?>) ((WeakReference<?>) reference).get() : null;
+        }
+    }
+}
@@ -16,9 +16,21 @@
 
 package de.drolpi.conversion.core;
 
+import org.jetbrains.annotations.NotNull;
+
 class DefaultAlgorithmConversionBus extends AlgorithmConversionBus {
 
     DefaultAlgorithmConversionBus() {
         DefaultConversionBus.registerDefaults(this);
     }
+
+    DefaultAlgorithmConversionBus(@NotNull final CachePolicy cachePolicy) {
+        super(cachePolicy);
+        DefaultConversionBus.registerDefaults(this);
+    }
+
+    DefaultAlgorithmConversionBus(@NotNull final CachePolicy cachePolicy, @NotNull final SearchPolicy searchPolicy) {
+        super(cachePolicy, searchPolicy);
+        DefaultConversionBus.registerDefaults(this);
+    }
 }
@@ -45,6 +45,7 @@
 import de.drolpi.conversion.core.impl.StringToUriConverter;
 import de.drolpi.conversion.core.impl.StringToUrlConverter;
 import de.drolpi.conversion.core.impl.StringToUuidConverter;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.StringWriter;
 import java.net.URI;
@@ -60,6 +61,11 @@ class DefaultConversionBus extends BasicConversionBus {
     DefaultConversionBus() {
         DefaultConversionBus.registerDefaults(this);
     }
+
+    DefaultConversionBus(@NotNull final CachePolicy cachePolicy) {
+        super(cachePolicy);
+        DefaultConversionBus.registerDefaults(this);
+    }
     
     public static void registerDefaults(ConfigurableConversionBus bus) {
         // Scalar converters
@@ -78,7 +84,7 @@ public static void registerDefaults(ConfigurableConversionBus bus) {
         bus.register(StringWriter.class, String.class, new ObjectToStringConverter());
 
         bus.register(Number.class, String.class, new ObjectToStringConverter());
-        bus.register(String.class, Number.class, new StringToNumberConverter());
+        bus.register(CharSequence.class, Number.class, new StringToNumberConverter());
         bus.register(Number.class, Number.class, new NumberToNumberConverter());
 
         bus.register(Currency.class, String.class, new ObjectToStringConverter());
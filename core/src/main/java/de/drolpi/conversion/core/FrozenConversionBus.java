@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import de.drolpi.conversion.core.converter.ConversionPath;
+import de.drolpi.conversion.core.converter.NonGenericConverter;
+import de.drolpi.conversion.core.exception.ConverterNotFoundException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A read-only conversion bus, which stores the converters of a fixed set of paths in an immutable open addressing
+ * table. The table is keyed by the identity of both classes and never changes after construction, so a lookup neither
+ * locks nor allocates.
+ * <p>
+ * Bound conversions, and therefore conversions of many objects at once, use the table as well, if their pair of classes
+ * has been resolved in advance. All other conversions are resolved by a snapshot of the frozen bus, which only this bus
+ * can reach. Registering or unregistering converters on the original bus afterwards therefore does not change this
+ * bus.
+ */
+final class FrozenConversionBus implements ConversionBus {
+
+    private final BasicConversionBus bus;
+    private final Class<?>[] sourceTypes;
+    private final Class<?>[] targetTypes;
+    // A null converter marks a resolved path, which can not be converted
+    private final NonGenericConverter[] converters;
+    private final int mask;
+
+    FrozenConversionBus(@NotNull final BasicConversionBus snapshot, @NotNull final Set<ConversionPath> paths) {
+        requireNonNull(snapshot, "snapshot");
+        requireNonNull(paths, "paths");
+        this.bus = snapshot;
+
+        // Keep the load factor at or below one half to keep the probe sequences short
+        final int capacity = Integer.highestOneBit(Math.max(paths.size(), 1) * 4 - 1);
+        this.sourceTypes = new Class<?>[capacity];
+        this.targetTypes = new Class<?>[capacity];
+        this.converters = new NonGenericConverter[capacity];
+        this.mask = capacity - 1;
+
+        for (final ConversionPath path : paths) {
+            requireNonNull(path.sourceType(), "sourceType");
+            requireNonNull(path.targetType(), "targetType");
+            int index = hash(path.sourceType(), path.targetType()) & this.mask;
+            while (this.targetTypes[index] != null) {
+                index = (index + 1) & this.mask;
+            }
+
+            this.sourceTypes[index] = path.sourceType();
+            this.targetTypes[index] = path.targetType();
+            this.converters[index] = snapshot.converter(path.sourceType(), path.targetType());
+        }
+    }
+
+    @Override
+    public boolean canConvert(@Nullable final Type sourceType, @NotNull final Type targetType) {
+        requireNonNull(targetType, "targetType");
+        if (sourceType instanceof final Class<?> sourceClass && targetType instanceof final Class<?> targetClass) {
+            final int index = this.index(sourceClass, targetClass);
+
+            if (index >= 0) {
+                return this.converters[index] != null;
+            }
+        }
+
+        return this.bus.canConvert(sourceType, targetType);
+    }
+
+    @Override
+    public <S> @NotNull BoundConversion<S, Object> lookup(@NotNull final Class<S> sourceType, @NotNull final Type targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        if (targetType instanceof final Class<?> targetClass) {
+            final int index = this.index(sourceType, targetClass);
+
+            if (index >= 0) {
+                return new TableConversion<>(sourceType, targetClass, index);
+            }
+        }
+
+        // Not resolved in advance, bound conversions of the snapshot cache their converters on their own
+        return this.bus.lookup(sourceType, targetType);
+    }
+
+    @Override
+    public Object convert(@Nullable final Object source, @NotNull final Type targetType) {
+        requireNonNull(targetType, "targetType");
+        if (source != null && targetType instanceof final Class<?> targetClass) {
+            final Class<?> sourceType = source.getClass();
+            final int index = this.index(sourceType, targetClass);
+
+            if (index >= 0) {
+                final NonGenericConverter converter = this.converters[index];
+
+                if (converter == null) {
+                    // The path has been resolved without a result
+                    throw new ConverterNotFoundException(sourceType, targetType);
+                }
+
+                return converter.convert(source, sourceType, targetType);
+            }
+        }
+
+        // Not resolved in advance
+        return this.bus.convert(source, targetType);
+    }
+
+    @Override
+    public int convertToInt(@NotNull final Object source) {
+        // Primitive conversions are not resolved in advance
+        return this.bus.convertToInt(source);
+    }
+
+    @Override
+    public long convertToLong(@NotNull final Object source) {
+        return this.bus.convertToLong(source);
+    }
+
+    @Override
+    public double convertToDouble(@NotNull final Object source) {
+        return this.bus.convertToDouble(source);
+    }
+
+    @Override
+    public boolean convertToBoolean(@NotNull final Object source) {
+        return this.bus.convertToBoolean(source);
+    }
+
+    private int index(@NotNull final Class<?> sourceType, @NotNull final Class<?> targetType) {
+        int index = hash(sourceType, targetType) & this.mask;
+        Class<?> candidate;
+
+        while ((candidate = this.targetTypes[index]) != null) {
+            if (candidate == targetType && this.sourceTypes[index] == sourceType) {
+                return index;
+            }
+            index = (index + 1) & this.mask;
+        }
+
+        return -1;
+    }
+
+    private static int hash(@NotNull final Class<?> sourceType, @NotNull final Class<?> targetType) {
+        final int hash = System.identityHashCode(sourceType) * 31 + System.identityHashCode(targetType);
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A conversion bound to an entry of the table. Sources of another class are converted like any other conversion of
+     * this bus.
+     */
+    private final class TableConversion<S> implements BoundConversion<S, Object> {
+
+        private final Class<S> sourceType;
+        private final Class<?> targetType;
+        private final int index;
+
+        private TableConversion(@NotNull final Class<S> sourceType, @NotNull final Class<?> targetType, final int index) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.index = index;
+        }
+
+        @Override
+        public @Nullable Object apply(@Nullable final S source) {
+            if (source == null || source.getClass() != this.sourceType) {
+                return FrozenConversionBus.this.convert(source, this.targetType);
+            }
+
+            final NonGenericConverter converter = FrozenConversionBus.this.converters[this.index];
+            if (converter == null) {
+                // The path has been resolved without a result
+                throw new ConverterNotFoundException(this.sourceType, this.targetType);
+            }
+
+            return converter.convert(source, this.sourceType, this.targetType);
+        }
+
+        @Override
+        public @NotNull Type targetType() {
+            return this.targetType;
+        }
+    }
+}
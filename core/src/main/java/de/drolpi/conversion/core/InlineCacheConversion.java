@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core;
+
+import de.drolpi.conversion.core.converter.NonGenericConverter;
+import de.drolpi.conversion.core.exception.ConverterNotFoundException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bound conversion, which remembers the converters of the last few source classes it has seen. Once more source
+ * classes than fit into the inline cache show up, further classes are resolved through the cache of the bus.
+ */
+final class InlineCacheConversion<S, T> implements BoundConversion<S, T> {
+
+    private static final int MAX_ENTRIES = 4;
+
+    private final BasicConversionBus bus;
+    private final Type targetType;
+    private volatile Entries entries;
+
+    InlineCacheConversion(@NotNull final BasicConversionBus bus, @NotNull final Class<S> sourceType, @NotNull final Type targetType) {
+        requireNonNull(bus, "bus");
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        this.bus = bus;
+        this.targetType = targetType;
+        this.entries = new Entries(bus.modifications(), new Class<?>[0], new NonGenericConverter[0]);
+
+        // Resolve the declared source type in advance, as it usually is the runtime class as well
+        final NonGenericConverter converter = bus.converter(sourceType, targetType);
+        if (converter != null) {
+            this.entries = this.entries.with(sourceType, converter);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable T apply(@Nullable final S source) {
+        if (source == null) {
+            return (T) this.bus.convert(null, this.targetType);
+        }
+
+        final Class<?> sourceType = source.getClass();
+        final Entries entries = this.entries;
+        NonGenericConverter converter = null;
+
+        // Converters cached before the registered converters changed may be outdated
+        if (entries.modifications == this.bus.modifications()) {
+            converter = entries.get(sourceType);
+        }
+
+        if (converter == null) {
+            converter = this.resolve(sourceType, entries);
+        }
+
+        return (T) converter.convert(source, sourceType, this.targetType);
+    }
+
+    @Override
+    public @NotNull Type targetType() {
+        return this.targetType;
+    }
+
+    private @NotNull NonGenericConverter resolve(@NotNull final Class<?> sourceType, @NotNull final Entries entries) {
+        final int modifications = this.bus.modifications();
+        final NonGenericConverter converter = this.bus.converter(sourceType, this.targetType);
+
+        if (converter == null) {
+            // No Converter found
+            throw new ConverterNotFoundException(sourceType, this.targetType);
+        }
+
+        if (entries.modifications != modifications) {
+            // Start over with the current converters
+            this.entries = new Entries(modifications, new Class<?>[0], new NonGenericConverter[0]).with(sourceType, converter);
+        } else if (entries.sourceTypes.length < MAX_ENTRIES) {
+            this.entries = entries.with(sourceType, converter);
+        }
+
+        return converter;
+    }
+
+    private record Entries(int modifications, Class<?>[] sourceTypes, NonGenericConverter[] converters) {
+
+        private @Nullable NonGenericConverter get(@NotNull final Class<?> sourceType) {
+            for (int i = 0; i < this.sourceTypes.length; i++) {
+                if (this.sourceTypes[i] == sourceType) {
+                    return this.converters[i];
+                }
+            }
+
+            return null;
+        }
+
+        private @NotNull Entries with(@NotNull final Class<?> sourceType, @NotNull final NonGenericConverter converter) {
+            // Copy on write, so that concurrent readers always see complete entries
+            final int size = this.sourceTypes.length;
+            final Class<?>[] sourceTypes = Arrays.copyOf(this.sourceTypes, size + 1);
+            final NonGenericConverter[] converters = Arrays.copyOf(this.converters, size + 1);
+            sourceTypes[size] = sourceType;
+            converters[size] = converter;
+            return new Entries(this.modifications, sourceTypes, converters);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Represents the bounds of the search for chains of converters, which an algorithm conversion bus runs when no
+ * converter has been registered for a conversion.
+ */
+public final class SearchPolicy {
+
+    private static final SearchPolicy DEFAULT = new SearchPolicy(8, 5, null, 0);
+
+    private final int maxChains;
+    private final int maxDepth;
+    private final @Nullable ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    private SearchPolicy(final int maxChains, final int maxDepth, @Nullable final ForkJoinPool pool, final int parallelThreshold) {
+        this.maxChains = maxChains;
+        this.maxDepth = maxDepth;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns the policy, which keeps the eight cheapest chains of at most five converters.
+     *
+     * @return the default policy
+     */
+    public static @NotNull SearchPolicy defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a policy, which keeps the {@code maxChains} cheapest chains of at most {@code maxDepth} converters. Both
+     * the time of a search and the chains retained by the resolved converter are bounded by them.
+     *
+     * @param maxChains the maximum number of chains per conversion
+     * @param maxDepth the maximum number of converters per chain
+     * @return the bounded policy
+     */
+    public static @NotNull SearchPolicy bounded(final int maxChains, final int maxDepth) {
+        if (maxChains <= 0) {
+            throw new IllegalArgumentException("maxChains must be positive");
+        }
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException("maxDepth must be positive");
+        }
+        return new SearchPolicy(maxChains, maxDepth, null, 0);
+    }
+
+    /**
+     * Returns a copy of this policy, which splits a search across the {@code pool} once at least
+     * {@code parallelThreshold} conversion paths are registered. Every type the source type can be converted from
+     * directly is searched from by a task of its own, and the chains found are merged in a deterministic order, so
+     * the converters resolved do not depend on the scheduling of the tasks. Smaller registries are searched on the
+     * calling thread, because splitting them costs more than it saves.
+     *
+     * @param pool the pool to run the tasks of a search on
+     * @param parallelThreshold the minimum number of registered paths to split a search at
+     * @return the parallel policy
+     */
+    public @NotNull SearchPolicy parallel(@NotNull final ForkJoinPool pool, final int parallelThreshold) {
+        requireNonNull(pool, "pool");
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("parallelThreshold must not be negative");
+        }
+        return new SearchPolicy(this.maxChains, this.maxDepth, pool, parallelThreshold);
+    }
+
+    int maxChains() {
+        return this.maxChains;
+    }
+
+    int maxDepth() {
+        return this.maxDepth;
+    }
+
+    @Nullable ForkJoinPool pool() {
+        return this.pool;
+    }
+
+    int parallelThreshold() {
+        return this.parallelThreshold;
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core;
+
+import de.drolpi.conversion.core.converter.ConversionPath;
+import de.drolpi.conversion.core.util.ClassTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A graph with the registered types as nodes and the registered conversion paths as edges. The cost of an edge is the
+ * lowest cost of the converters registered for its path.
+ * <p>
+ * The paths are maintained as they are registered and unregistered. Searches run on a compact snapshot, in which
+ * types and paths are numbered, and which is rebuilt on the first search after the paths have changed. A node is
+ * connected to the paths of every type in its type tree, so that a path from a super type is usable for its subtypes.
+ */
+final class TypeGraph {
+
+    private final Map<ConversionPath, Integer> paths = new LinkedHashMap<>();
+    private final SearchPolicy searchPolicy;
+    private volatile Snapshot snapshot;
+
+    TypeGraph(@NotNull final SearchPolicy searchPolicy) {
+        requireNonNull(searchPolicy, "searchPolicy");
+        this.searchPolicy = searchPolicy;
+    }
+
+    /**
+     * Returns a graph with the same paths, which is not affected by later changes to this graph.
+     *
+     * @return the copy of this graph
+     */
+    synchronized @NotNull TypeGraph copy() {
+        final TypeGraph copy = new TypeGraph(this.searchPolicy);
+        copy.paths.putAll(this.paths);
+        // Snapshots are immutable, so the copy can search on the current one as well
+        copy.snapshot = this.snapshot;
+        return copy;
+    }
+
+    /**
+     * Returns the highest cost of a path, which keeps the total cost of every chain within the maximum depth in the
+     * range of an int.
+     *
+     * @return the maximum cost of a path
+     */
+    int maxCost() {
+        return Integer.MAX_VALUE / this.searchPolicy.maxDepth();
+    }
+
+    synchronized void add(@NotNull final ConversionPath path, final int cost) {
+        requireNonNull(path, "path");
+        final Integer previousCost = this.paths.get(path);
+
+        if (previousCost == null || cost < previousCost) {
+            this.paths.put(path, cost);
+            this.snapshot = null;
+        }
+    }
+
+    synchronized void remove(@NotNull final ConversionPath path) {
+        requireNonNull(path, "path");
+        if (this.paths.remove(path) != null) {
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * Searches the cheapest chains of paths from the source type to the target type, which visit no type twice and
+     * consist of at most the maximum depth of paths. Like Dijkstra's algorithm, the search always extends the cheapest
+     * chain found so far, so cheaper chains are returned first. Chains of equal cost are ordered by their length.
+     * <p>
+     * At most the maximum number of chains is returned. A chain is not extended any further once as many chains have
+     * been extended from its last type, which are at most as expensive and as long and visit no type the chain does not
+     * visit. Every chain it leads to is dominated by the chains, which the others lead to with the same paths. Chains,
+     * which can not reach the target type within the maximum depth, are neither extended nor do they dominate others.
+     *
+     * @param sourceType the source type to start from
+     * @param targetType the target type to reach
+     * @return the chains ordered by their total cost
+     */
+    @NotNull List<List<ConversionPath>> search(@NotNull final Type sourceType, @NotNull final Type targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        return this.snapshot().search(sourceType, targetType);
+    }
+
+    /**
+     * Returns whether a chain of at most the maximum depth of paths leads from the source type to the target type,
+     * without searching the chains themselves.
+     *
+     * @param sourceType the source type to start from
+     * @param targetType the target type to reach
+     * @return true, if the target type is reachable, false if not
+     */
+    boolean reachable(@NotNull final Type sourceType, @NotNull final Type targetType) {
+        requireNonNull(sourceType, "sourceType");
+        requireNonNull(targetType, "targetType");
+        return this.snapshot().reachable(sourceType, targetType);
+    }
+
+    private @NotNull Snapshot snapshot() {
+        Snapshot snapshot = this.snapshot;
+
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = this.snapshot;
+                if (snapshot == null) {
+                    this.snapshot = snapshot = new Snapshot(this.paths, this.searchPolicy);
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+
+        private static final int[] NO_EDGES = new int[0];
+        private static final Comparator<Chain> CHAIN_ORDER = Comparator.comparingInt(Chain::cost)
+            .thenComparingInt(Chain::length)
+            .thenComparingInt(Chain::sequence);
+        // Sequences of separate searches are not comparable, the stable sort keeps the order of their first edges
+        private static final Comparator<Chain> MERGE_ORDER = Comparator.comparingInt(Chain::cost)
+            .thenComparingInt(Chain::length);
+
+        private final Map<Class<?>, Integer> nodes = new HashMap<>();
+        private final int maxChains;
+        private final int maxDepth;
+        private final @Nullable ForkJoinPool pool;
+        private final int parallelThreshold;
+        private final ConversionPath[] paths;
+        private final int[] edgeCosts;
+        private final int[] edgeSources;
+        private final int[] edgeTargets;
+        // The edges starting exactly at a node
+        private final int[][] declaredEdges;
+        // The edges starting at any type of the type tree of a node
+        private final int[][] edges;
+        // The nodes with an edge to a node
+        private final int[][] predecessors;
+        // The nodes reachable from a node within one path less than the maximum depth, computed on first use
+        private final AtomicReferenceArray<BitSet> reachableNodes;
+
+        private Snapshot(final Map<ConversionPath, Integer> paths, final SearchPolicy searchPolicy) {
+            this.maxChains = searchPolicy.maxChains();
+            this.maxDepth = searchPolicy.maxDepth();
+            this.pool = searchPolicy.pool();
+            this.parallelThreshold = searchPolicy.parallelThreshold();
+            this.paths = paths.keySet().toArray(new ConversionPath[0]);
+            this.edgeCosts = new int[this.paths.length];
+            this.edgeSources = new int[this.paths.length];
+            this.edgeTargets = new int[this.paths.length];
+
+            final List<Class<?>> types = new ArrayList<>();
+            for (int edge = 0; edge < this.paths.length; edge++) {
+                this.edgeCosts[edge] = paths.get(this.paths[edge]);
+                this.edgeSources[edge] = this.node(this.paths[edge].sourceType(), types);
+                this.edgeTargets[edge] = this.node(this.paths[edge].targetType(), types);
+            }
+
+            final int[] edgeCounts = new int[types.size()];
+            for (final int source : this.edgeSources) {
+                edgeCounts[source]++;
+            }
+            this.declaredEdges = new int[types.size()][];
+            for (int node = 0; node < types.size(); node++) {
+                this.declaredEdges[node] = new int[edgeCounts[node]];
+                edgeCounts[node] = 0;
+            }
+            for (int edge = 0; edge < this.paths.length; edge++) {
+                final int source = this.edgeSources[edge];
+                this.declaredEdges[source][edgeCounts[source]++] = edge;
+            }
+
+            this.edges = new int[types.size()][];
+            for (int node = 0; node < types.size(); node++) {
+                this.edges[node] = this.treeEdges(types.get(node));
+            }
+            this.predecessors = this.predecessors();
+            this.reachableNodes = new AtomicReferenceArray<>(types.size());
+        }
+
+        private int[][] predecessors() {
+            final int[] counts = new int[this.edges.length];
+            for (final int[] nodeEdges : this.edges) {
+                for (final int edge : nodeEdges) {
+                    counts[this.edgeTargets[edge]]++;
+                }
+            }
+
+            final int[][] predecessors = new int[this.edges.length][];
+            for (int node = 0; node < this.edges.length; node++) {
+                predecessors[node] = new int[counts[node]];
+                counts[node] = 0;
+            }
+            for (int node = 0; node < this.edges.length; node++) {
+                for (final int edge : this.edges[node]) {
+                    final int target = this.edgeTargets[edge];
+                    predecessors[target][counts[target]++] = node;
+                }
+            }
+
+            return predecessors;
+        }
+
+        private int node(final Class<?> type, final List<Class<?>> types) {
+            return this.nodes.computeIfAbsent(type, key -> {
+                types.add(key);
+                return types.size() - 1;
+            });
+        }
+
+        private int[] treeEdges(final Type type) {
+            int[] edges = NO_EDGES;
+
+            // Keep the order of the type tree, so that paths of more specific types come first
+            for (final Class<?> candidate : ClassTreeUtil.collect(type)) {
+                final Integer node = this.nodes.get(candidate);
+
+                if (node != null && this.declaredEdges[node].length > 0) {
+                    final int size = edges.length;
+                    edges = Arrays.copyOf(edges, size + this.declaredEdges[node].length);
+                    System.arraycopy(this.declaredEdges[node], 0, edges, size, this.declaredEdges[node].length);
+                }
+            }
+
+            return edges;
+        }
+
+        private boolean reachable(final Type sourceType, final Type targetType) {
+            final BitSet targets = this.targets(targetType);
+
+            if (!targets.isEmpty()) {
+                for (final int edge : this.treeEdges(sourceType)) {
+                    if (this.reachableNodes(this.edgeTargets[edge]).intersects(targets)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        private BitSet reachableNodes(final int node) {
+            BitSet reachable = this.reachableNodes.get(node);
+
+            if (reachable == null) {
+                reachable = new BitSet(this.edges.length);
+                reachable.set(node);
+
+                // Breadth first, one level per path
+                BitSet level = (BitSet) reachable.clone();
+                for (int depth = 1; depth < this.maxDepth && !level.isEmpty(); depth++) {
+                    final BitSet nextLevel = new BitSet(this.edges.length);
+
+                    for (int current = level.nextSetBit(0); current >= 0; current = level.nextSetBit(current + 1)) {
+                        for (final int edge : this.edges[current]) {
+                            if (!reachable.get(this.edgeTargets[edge])) {
+                                nextLevel.set(this.edgeTargets[edge]);
+                            }
+                        }
+                    }
+
+                    reachable.or(nextLevel);
+                    level = nextLevel;
+                }
+
+                this.reachableNodes.set(node, reachable);
+            }
+
+            return reachable;
+        }
+
+        private BitSet targets(final Type targetType) {
+            final BitSet targets = new BitSet(this.edges.length);
+
+            for (final Class<?> candidate : ClassTreeUtil.collect(targetType)) {
+                final Integer node = this.nodes.get(candidate);
+
+                if (node != null) {
+                    targets.set(node);
+                }
+            }
+
+            return targets;
+        }
+
+        private List<List<ConversionPath>> search(final Type sourceType, final Type targetType) {
+            final BitSet targets = this.targets(targetType);
+
+            if (targets.isEmpty()) {
+                return List.of();
+            }
+
+            final int[] firstEdges = this.treeEdges(sourceType);
+            final int[] distances = this.distances(targets);
+            final List<Chain> chains;
+            if (this.pool != null && this.paths.length >= this.parallelThreshold && firstEdges.length > 1) {
+                chains = this.searchParallel(this.pool, firstEdges, targets, distances);
+            } else {
+                chains = this.search(firstEdges, targets, distances);
+            }
+
+            final List<List<ConversionPath>> paths = new ArrayList<>(chains.size());
+            for (final Chain chain : chains) {
+                paths.add(this.paths(chain));
+            }
+            return paths;
+        }
+
+        private int[] distances(final BitSet targets) {
+            // The least number of paths from each node to a target type, ignoring that a chain visits no type twice
+            final int[] distances = new int[this.edges.length];
+            Arrays.fill(distances, this.maxDepth);
+
+            int[] level = targets.stream().toArray();
+            for (final int node : level) {
+                distances[node] = 0;
+            }
+            for (int depth = 1; depth < this.maxDepth && level.length > 0; depth++) {
+                int size = 0;
+                final int[] nextLevel = new int[this.edges.length];
+
+                for (final int node : level) {
+                    for (final int predecessor : this.predecessors[node]) {
+                        if (distances[predecessor] > depth) {
+                            distances[predecessor] = depth;
+                            nextLevel[size++] = predecessor;
+                        }
+                    }
+                }
+
+                level = Arrays.copyOf(nextLevel, size);
+            }
+
+            return distances;
+        }
+
+        private List<Chain> searchParallel(final ForkJoinPool pool, final int[] firstEdges, final BitSet targets, final int[] distances) {
+            // Search from every first edge on its own
+            final List<ForkJoinTask<List<Chain>>> tasks = new ArrayList<>(firstEdges.length);
+            for (final int edge : firstEdges) {
+                tasks.add(pool.submit(() -> this.search(new int[]{edge}, targets, distances)));
+            }
+
+            // Merge in the order of the first edges, so that chains of equal cost do not depend on the scheduling
+            final List<Chain> chains = new ArrayList<>();
+            for (final ForkJoinTask<List<Chain>> task : tasks) {
+                chains.addAll(task.join());
+            }
+            chains.sort(MERGE_ORDER);
+            return chains.size() > this.maxChains ? chains.subList(0, this.maxChains) : chains;
+        }
+
+        private List<Chain> search(final int[] firstEdges, final BitSet targets, final int[] distances) {
+            final List<Chain> chains = new ArrayList<>();
+            // Chains of equal cost and length keep the order in which they have been found
+            final Queue<Chain> queue = new PriorityQueue<>(CHAIN_ORDER);
+            int sequence = 0;
+            // The chains, which have been extended from each node
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            final List<Chain>[] extended = new List[this.edges.length];
+            for (final int edge : firstEdges) {
+                if (this.reaches(1, edge, distances)) {
+                    queue.add(new Chain(null, edge, 1, this.edgeCosts[edge], this.mask(0L, edge), sequence++));
+                }
+            }
+
+            Chain chain;
+            while ((chain = queue.poll()) != null) {
+                final int node = this.edgeTargets[chain.edge];
+
+                // A chain ends as soon as it reaches the target type
+                if (targets.get(node)) {
+                    chains.add(chain);
+                    if (chains.size() == this.maxChains) {
+                        return chains;
+                    }
+                    continue;
+                }
+
+                // Only chains, which can still be extended, count against the chains of a node
+                if (this.dominated(chain, extended[node])) {
+                    continue;
+                }
+                if (extended[node] == null) {
+                    extended[node] = new ArrayList<>(this.maxChains);
+                }
+                extended[node].add(chain);
+
+                for (final int edge : this.edges[node]) {
+                    if (this.reaches(chain.length + 1, edge, distances) && !this.visits(chain, this.edgeTargets[edge])) {
+                        // Edge costs are bounded by the maximum cost, so the sum of a chain can not overflow
+                        queue.add(new Chain(chain, edge, chain.length + 1, chain.cost + this.edgeCosts[edge],
+                            this.mask(chain.visited, edge), sequence++));
+                    }
+                }
+            }
+
+            return chains;
+        }
+
+        private boolean reaches(final int length, final int edge, final int[] distances) {
+            // Chains, which can not reach a target type within the maximum depth, are not searched at all
+            return length + distances[this.edgeTargets[edge]] <= this.maxDepth;
+        }
+
+        private boolean dominated(final Chain chain, final @Nullable List<Chain> extended) {
+            if (extended == null || extended.size() < this.maxChains) {
+                return false;
+            }
+
+            // Every extension of the chain is also an extension of a chain, which has been polled before, is at most as
+            // long and visits no other types. That chain leads to the same target at most at the same cost
+            int dominating = 0;
+            for (final Chain other : extended) {
+                if (other.length <= chain.length && this.visitsAll(chain, other) && ++dominating == this.maxChains) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private boolean visitsAll(final Chain chain, final Chain other) {
+            if ((other.visited & ~chain.visited) != 0) {
+                return false;
+            }
+            if (this.edges.length <= Long.SIZE) {
+                return true;
+            }
+
+            for (Chain step = other; step != null; step = step.previous) {
+                if (!this.visits(chain, this.edgeSources[step.edge]) || !this.visits(chain, this.edgeTargets[step.edge])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean visits(final Chain chain, final int node) {
+            // The mask is exact for up to 64 nodes, larger graphs share its bits and have to check the chain itself
+            if ((chain.visited & (1L << node)) == 0) {
+                return false;
+            }
+            if (this.edges.length <= Long.SIZE) {
+                return true;
+            }
+
+            for (Chain step = chain; step != null; step = step.previous) {
+                if (this.edgeTargets[step.edge] == node || this.edgeSources[step.edge] == node) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private long mask(final long visited, final int edge) {
+            // Shifts only use the lowest six bits of the node
+            return visited | 1L << this.edgeSources[edge] | 1L << this.edgeTargets[edge];
+        }
+
+        private List<ConversionPath> paths(final Chain chain) {
+            final ConversionPath[] paths = new ConversionPath[chain.length];
+
+            for (Chain step = chain; step != null; step = step.previous) {
+                paths[step.length - 1] = this.paths[step.edge];
+            }
+
+            return Arrays.asList(paths);
+        }
+    }
+
+    /**
+     * A chain of edges, which shares its beginning with the chain it has been extended from.
+     */
+    private record Chain(@Nullable Chain previous, int edge, int length, int cost, long visited, int sequence) {
+
+    }
+}
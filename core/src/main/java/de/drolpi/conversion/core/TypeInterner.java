@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Canonicalizes types into keys, which compare by identity and hash by a precomputed hash code, so that looking up a
+ * parameterized type does not compare its type arguments again and again.
+ * <p>
+ * Types, which have been interned recently, are found by their identity without computing their hash code at all.
+ * Other types are looked up by their structural equality in a concurrent map, so that equal types from different
+ * sources share one key without any thread taking a lock. Keys are only held weakly, a key which is no longer
+ * referenced by any cache entry is released and its type is removed from the map on a later lookup.
+ */
+final class TypeInterner {
+
+    private static final int RECENT_TYPES = 256;
+
+    // Direct mapped by the identity hash code of the type, a collision simply replaces the previous entry
+    private final RecentType[] recentTypes = new RecentType[RECENT_TYPES];
+    private final Map<Type, KeyReference> keys = new ConcurrentHashMap<>();
+    private final ReferenceQueue<TypeKey> releasedKeys = new ReferenceQueue<>();
+
+    @NotNull TypeKey intern(@NotNull final Type type) {
+        requireNonNull(type, "type");
+        final int slot = System.identityHashCode(type) & (RECENT_TYPES - 1);
+        final RecentType recentType = this.recentTypes[slot];
+
+        if (recentType != null && recentType.type == type) {
+            return recentType.key;
+        }
+
+        final TypeKey key = this.canonicalKey(type);
+        // Entries are immutable, so publishing them without synchronization is safe
+        this.recentTypes[slot] = new RecentType(type, key);
+        return key;
+    }
+
+    private @NotNull TypeKey canonicalKey(@NotNull final Type type) {
+        this.removeReleasedKeys();
+
+        while (true) {
+            final KeyReference reference = this.keys.get(type);
+            final TypeKey existing = reference != null ? reference.get() : null;
+
+            if (existing != null) {
+                return existing;
+            }
+
+            // The key references its type strongly, so the entry lives as long as the key is used
+            final TypeKey key = new TypeKey(type);
+            final KeyReference created = new KeyReference(key, this.releasedKeys);
+            if (reference == null ? this.keys.putIfAbsent(type, created) == null : this.keys.replace(type, reference, created)) {
+                return key;
+            }
+            // Another thread interned an equal type in the meantime
+        }
+    }
+
+    private void removeReleasedKeys() {
+        Reference<? extends TypeKey> reference;
+        while ((reference = this.releasedKeys.poll()) != null) {
+            final KeyReference keyReference = (KeyReference) reference;
+            // Only removes the entry, if it has not been replaced by a new key yet
+            this.keys.remove(keyReference.type, keyReference);
+        }
+    }
+
+    /**
+     * A canonical type. Two keys of the same interner are equal if and only if their types are equal.
+     */
+    static final class TypeKey {
+
+        private final Type type;
+        private final int hash;
+
+        private TypeKey(@NotNull final Type type) {
+            this.type = type;
+            this.hash = type.hashCode();
+        }
+
+        @NotNull Type type() {
+            return this.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public String toString() {
+            return this.type.getTypeName();
+        }
+    }
+
+    private record RecentType(Type type, TypeKey key) {
+
+    }
+
+    private static final class KeyReference extends WeakReference<TypeKey> {
+
+        private final Type type;
+
+        private KeyReference(@NotNull final TypeKey key, @NotNull final ReferenceQueue<TypeKey> queue) {
+            super(key, queue);
+            this.type = key.type;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+final class UnboundedCachePolicy implements CachePolicy {
+
+    static final UnboundedCachePolicy INSTANCE = new UnboundedCachePolicy();
+
+    private UnboundedCachePolicy() {
+
+    }
+
+    @Override
+    public <K, V> @NotNull Cache<K, V> createCache() {
+        return new UnboundedCache<>();
+    }
+
+    private static final class UnboundedCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> entries = new ConcurrentHashMap<>(64);
+
+        @Override
+        public @Nullable V get(@NotNull final K key) {
+            return this.entries.get(key);
+        }
+
+        @Override
+        public void put(@NotNull final K key, @NotNull final V value) {
+            this.entries.put(key, value);
+        }
+
+        @Override
+        public void removeIf(@NotNull final Predicate<? super K> filter) {
+            requireNonNull(filter, "filter");
+            this.entries.keySet().removeIf(filter);
+        }
+
+        @Override
+        public void clear() {
+            this.entries.clear();
+        }
+    }
+}
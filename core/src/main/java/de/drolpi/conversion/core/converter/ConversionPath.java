@@ -18,17 +18,4 @@
 
 public record ConversionPath(Class<?> sourceType, Class<?> targetType) {
 
-    @Override
-    public boolean equals(Object other) {
-        if (this == other) {
-            return true;
-        }
-
-        if (!(other instanceof ConversionPath otherPath)) {
-            return false;
-        }
-
-        return (this.sourceType == null || otherPath.sourceType == null || this.sourceType.equals(otherPath.sourceType))
-            && this.targetType.equals(otherPath.targetType);
-    }
 }
\ No newline at end of file
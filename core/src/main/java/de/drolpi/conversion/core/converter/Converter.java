@@ -16,6 +16,7 @@
 
 package de.drolpi.conversion.core.converter;
 
+import de.drolpi.conversion.core.exception.ConversionException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,12 +30,63 @@
  */
 public interface Converter<T, U>  {
 
+    /**
+     * The result of {@link #tryConvert(Object, Type, Type)}, if the source object could not be converted.
+     */
+    Object FAILED = new Object();
+
     /**
      * Returns the target object of the conversion from the source object of type {@code S} to target type {@code T}.
      *
      * @param source the source object to convert, which must be an instance of {@code S} (never {@code null})
+     * @param sourceType the type of the source object
+     * @param targetType the target type to convert to
      * @return the converted object, which must be an instance of {@code T} (potentially {@code null})
      */
     @Nullable U convert(@NotNull T source, @NotNull Type sourceType, @NotNull Type targetType);
 
+    /**
+     * Returns the target object of the conversion like {@link #convert(Object, Type, Type)}, but returns
+     * {@link #FAILED} instead of throwing an exception if the source object can not be converted. Conversion buses
+     * use this to fall back to another conversion without the cost of an exception.
+     * <p>
+     * By default, this catches the {@link ConversionException} thrown by {@code convert}. Converters which are expected
+     * to fail for some of their source objects should detect the failure without throwing.
+     *
+     * @param source the source object to convert, which must be an instance of {@code S} (never {@code null})
+     * @param sourceType the type of the source object
+     * @param targetType the target type to convert to
+     * @return the converted object or {@link #FAILED}
+     */
+    default @Nullable Object tryConvert(@NotNull T source, @NotNull Type sourceType, @NotNull Type targetType) {
+        try {
+            return this.convert(source, sourceType, targetType);
+        } catch (ConversionException ignored) {
+            return FAILED;
+        }
+    }
+
+    /**
+     * Returns the relative cost of a conversion with this converter, which must be positive. Conversion buses that
+     * chain converters prefer the chain with the lowest total cost.
+     *
+     * @return the cost, 1 by default
+     */
+    default int cost() {
+        return 1;
+    }
+
+    /**
+     * Returns a converter for conversions from exactly {@code sourceType} to {@code targetType}. Conversion buses
+     * resolve this once per pair of types and use the returned converter for all of their conversions, so that
+     * converters which select their conversion based on the types do not repeat this selection on every call.
+     *
+     * @param sourceType the class of the source objects
+     * @param targetType the target type
+     * @return the specialized converter, this converter by default
+     */
+    default @NotNull Converter<T, U> specialize(@NotNull Class<? extends T> sourceType, @NotNull Type targetType) {
+        return this;
+    }
+
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core.converter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Type;
+
+/**
+ * Represents a converter, which can convert a source object of type {@code T} to a primitive {@code long} without boxing
+ * the result.
+ *
+ * @param <T> the source type
+ */
+public interface ToLongConverter<T> {
+
+    /**
+     * Returns the {@code long} value of the conversion from the source object of type {@code T}.
+     *
+     * @param source the source object to convert, which must be an instance of {@code T} (never {@code null})
+     * @param sourceType the type of the source object
+     * @return the converted value
+     */
+    long convertToLong(@NotNull T source, @NotNull Type sourceType);
+
+}
@@ -32,6 +32,11 @@ public ConversionFailedException(@NotNull Type sourceType, @NotNull Type targetT
         this.source = source;
     }
 
+    public ConversionFailedException(@NotNull Type sourceType, @NotNull Type targetType, Object source, Throwable cause) {
+        super(sourceType, targetType, String.format("Failed to convert from type [%s] to type [%s] for value [%s]", sourceType, targetType, source), cause);
+        this.source = source;
+    }
+
     public @NotNull Object source() {
         return this.source;
     }
@@ -18,6 +18,7 @@
 
 import de.drolpi.conversion.core.ConversionBus;
 import de.drolpi.conversion.core.converter.ConversionPath;
+import de.drolpi.conversion.core.util.ConversionUtil;
 import io.leangen.geantyref.GenericTypeReflector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -44,7 +45,7 @@ public ArrayToArrayConverter(ConversionBus conversionBus) {
 
     @Override
     protected Type elementType(Type containerType) {
-        return GenericTypeReflector.getArrayComponentType(containerType);
+        return ConversionUtil.elementType(containerType, 1);
     }
 
     @Override
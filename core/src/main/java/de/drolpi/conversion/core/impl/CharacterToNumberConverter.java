@@ -29,4 +29,9 @@ public final class CharacterToNumberConverter implements Converter<Character, Nu
     public Number convert(@NotNull Character source, @NotNull Type sourceType, @NotNull Type targetType) {
         return this.helpConverter.convert((short) source.charValue(), short.class, targetType);
     }
+
+    @Override
+    public @NotNull Object tryConvert(@NotNull Character source, @NotNull Type sourceType, @NotNull Type targetType) {
+        return this.helpConverter.tryConvert((short) source.charValue(), short.class, targetType);
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023-2024 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core.impl;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Holds the constants of an enum by ordinal and by name. Tables are created once per enum and shared, so that
+ * converters neither copy the constants nor throw exceptions to look up a constant.
+ */
+final class EnumTable {
+
+    private static final ClassValue<EnumTable> TABLES = new ClassValue<>() {
+        @Override
+        protected EnumTable computeValue(final Class<?> type) {
+            // Constants with a body are subclasses of their enum
+            final Class<?> enumType = type.isEnum() || type.getSuperclass() == null ? type : type.getSuperclass();
+            return new EnumTable(enumType.getEnumConstants());
+        }
+    };
+
+    private final Enum<?>[] constants;
+    private final Map<String, Enum<?>> names;
+    private final Map<String, Enum<?>> lowerCaseNames;
+
+    private EnumTable(final Object @Nullable [] constants) {
+        this.constants = new Enum<?>[constants != null ? constants.length : 0];
+        this.names = new HashMap<>();
+        this.lowerCaseNames = new HashMap<>();
+
+        for (int i = 0; i < this.constants.length; i++) {
+            final Enum<?> constant = (Enum<?>) constants[i];
+            this.constants[i] = constant;
+            this.names.put(constant.name(), constant);
+            // Constants, which only differ in case, resolve to the one declared first
+            this.lowerCaseNames.putIfAbsent(constant.name().toLowerCase(Locale.ROOT), constant);
+        }
+    }
+
+    static @NotNull EnumTable of(@NotNull final Type enumType) {
+        return TABLES.get(enumType instanceof final Class<?> clazz ? clazz : GenericTypeReflector.erase(enumType));
+    }
+
+    @Nullable Enum<?> byOrdinal(final int ordinal) {
+        return ordinal >= 0 && ordinal < this.constants.length ? this.constants[ordinal] : null;
+    }
+
+    @Nullable Enum<?> byName(@NotNull final String name) {
+        return this.names.get(name);
+    }
+
+    @Nullable Enum<?> byNameIgnoreCase(@NotNull final String name) {
+        final Enum<?> constant = this.names.get(name);
+        return constant != null ? constant : this.lowerCaseNames.get(name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -17,12 +17,13 @@
 package de.drolpi.conversion.core.impl;
 
 import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.converter.ToBooleanConverter;
 import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Type;
 
-public final class IntegerToBooleanConverter implements Converter<Integer, Boolean> {
+public final class IntegerToBooleanConverter implements Converter<Integer, Boolean>, ToBooleanConverter<Integer> {
 
     private static final int TRUE_VALUE = 1;
     private static final int FALSE_VALUE = 0;
@@ -39,4 +40,14 @@ public final class IntegerToBooleanConverter implements Converter<Integer, Boole
 
         throw new ConversionFailedException(sourceType, targetType, "Can only convert an [Integer] with value equal to 0 or 1 to a [Boolean]");
     }
+
+    @Override
+    public @NotNull Object tryConvert(@NotNull Integer source, @NotNull Type sourceType, @NotNull Type targetType) {
+        return source == TRUE_VALUE ? Boolean.TRUE : source == FALSE_VALUE ? Boolean.FALSE : FAILED;
+    }
+
+    @Override
+    public boolean convertToBoolean(@NotNull Integer source, @NotNull Type sourceType) {
+        return this.convert(source, sourceType, boolean.class);
+    }
 }
@@ -18,7 +18,7 @@
 
 import de.drolpi.conversion.core.converter.ConversionPath;
 import de.drolpi.conversion.core.converter.NonGenericConverter;
-import io.leangen.geantyref.GenericTypeReflector;
+import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -32,17 +32,24 @@ public boolean isSuitable(@Nullable Type sourceType, @NotNull Type targetType) {
         return true;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public @Nullable Object convert(@Nullable Object source, @Nullable Type sourceType, @NotNull Type targetType) {
+        final Object result = this.tryConvert(source, sourceType, targetType);
+        if (result == FAILED) {
+            throw new ConversionFailedException(sourceType, targetType, source);
+        }
+
+        return result;
+    }
+
+    @Override
+    public @Nullable Object tryConvert(@Nullable Object source, @Nullable Type sourceType, @NotNull Type targetType) {
         if (source == null) {
             return null;
         }
 
-        final Integer identifier = (Integer) source;
-        final Class<? extends Enum> enumType = (Class<? extends Enum>) GenericTypeReflector.erase(targetType);
-
-        return enumType.getEnumConstants()[identifier];
+        final Enum<?> constant = EnumTable.of(targetType).byOrdinal((Integer) source);
+        return constant != null ? constant : FAILED;
     }
 
     @Override
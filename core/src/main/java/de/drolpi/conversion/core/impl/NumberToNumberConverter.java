@@ -17,62 +17,381 @@
 package de.drolpi.conversion.core.impl;
 
 import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.converter.ToDoubleConverter;
+import de.drolpi.conversion.core.converter.ToIntConverter;
+import de.drolpi.conversion.core.converter.ToLongConverter;
 import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Map;
 
-public final class NumberToNumberConverter implements Converter<Number, Number> {
+public final class NumberToNumberConverter implements Converter<Number, Number>, ToIntConverter<Number>,
+    ToLongConverter<Number>, ToDoubleConverter<Number> {
 
-    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
-    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    // Exclusive bounds of the big decimals, whose integer part fits into a long
+    private static final BigDecimal LONG_LOWER_BOUND = BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE);
+    private static final BigDecimal LONG_UPPER_BOUND = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE);
+
+    // Powers of ten, which are exact in double and float precision
+    private static final double[] DOUBLE_POWERS = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+        1e13, 1e14, 1e15, 1e16, 1e17};
+    private static final float[] FLOAT_POWERS = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    private static final Map<Class<?>, NumberType> TYPES = Map.ofEntries(
+        Map.entry(Byte.class, NumberType.BYTE), Map.entry(byte.class, NumberType.BYTE),
+        Map.entry(Short.class, NumberType.SHORT), Map.entry(short.class, NumberType.SHORT),
+        Map.entry(Integer.class, NumberType.INTEGER), Map.entry(int.class, NumberType.INTEGER),
+        Map.entry(Long.class, NumberType.LONG), Map.entry(long.class, NumberType.LONG),
+        Map.entry(Float.class, NumberType.FLOAT), Map.entry(float.class, NumberType.FLOAT),
+        Map.entry(Double.class, NumberType.DOUBLE), Map.entry(double.class, NumberType.DOUBLE),
+        Map.entry(BigInteger.class, NumberType.BIG_INTEGER),
+        Map.entry(BigDecimal.class, NumberType.BIG_DECIMAL)
+    );
 
     @Override
     public Number convert(@NotNull Number source, @NotNull Type sourceType, @NotNull Type targetType) {
-        if (Byte.class == targetType || byte.class == targetType) {
-            final long value = this.convertToLong(source, sourceType, targetType);
-            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
-                return source.byteValue();
-            }
-        } else if (Short.class == targetType || short.class == targetType) {
-            final long value = this.convertToLong(source, sourceType, targetType);
-            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
-                return source.shortValue();
-            }
-        } else if (Integer.class == targetType || int.class == targetType) {
-            final long value = this.convertToLong(source, sourceType, targetType);
-            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
-                return source.intValue();
-            }
-        } else if (Long.class == targetType || long.class == targetType) {
-            return this.convertToLong(source, sourceType, targetType);
-        } else if (BigInteger.class == targetType) {
-            if (source instanceof BigDecimal bigDecimal) {
-                return bigDecimal.toBigInteger();
-            } else {
-                return BigInteger.valueOf(source.longValue());
-            }
-        } else if (Float.class == targetType || float.class == targetType) {
-            return source.floatValue();
-        } else if (Double.class == targetType || double.class == targetType) {
-            return source.doubleValue();
-        } else if (BigDecimal.class == targetType) {
-            return new BigDecimal(source.toString());
+        final Object result = this.tryConvert(source, sourceType, targetType);
+        if (result == FAILED) {
+            throw new ConversionFailedException(sourceType, targetType, source);
         }
 
-        throw new ConversionFailedException(sourceType, targetType, source);
+        return (Number) result;
+    }
+
+    @Override
+    public @NotNull Object tryConvert(@NotNull Number source, @NotNull Type sourceType, @NotNull Type targetType) {
+        final NumberType target = TYPES.get(targetType);
+        return target != null ? convert(source, target) : FAILED;
+    }
+
+    @Override
+    public @NotNull Converter<Number, Number> specialize(@NotNull final Class<? extends Number> sourceType, @NotNull final Type targetType) {
+        final NumberType target = TYPES.get(targetType);
+        if (target == null) {
+            return this;
+        }
+
+        final NumberType source = TYPES.get(sourceType);
+        if (source == null) {
+            // Subclasses and other numbers are only known at runtime
+            return new SpecializedConverter(value -> convert(value, target));
+        }
+
+        return new SpecializedConverter(switch (source) {
+            case BYTE, SHORT, INTEGER, LONG -> value -> target.fromLong(value.longValue());
+            case FLOAT -> value -> target.fromFloat(value.floatValue());
+            case DOUBLE -> value -> target.fromDouble(value.doubleValue());
+            case BIG_INTEGER -> value -> target.fromBigInteger((BigInteger) value);
+            case BIG_DECIMAL -> value -> target.fromBigDecimal((BigDecimal) value);
+        });
+    }
+
+    @Override
+    public int convertToInt(@NotNull Number source, @NotNull Type sourceType) {
+        return intValue(source, sourceType);
+    }
+
+    @Override
+    public long convertToLong(@NotNull Number source, @NotNull Type sourceType) {
+        return longValue(source, sourceType, long.class);
+    }
+
+    @Override
+    public double convertToDouble(@NotNull Number source, @NotNull Type sourceType) {
+        return source.doubleValue();
     }
 
-    private long convertToLong(final Number source, final Type sourceType, final Type targetType) {
-        final BigInteger bigInt = source instanceof BigInteger bigInteger ? bigInteger
-            : source instanceof BigDecimal bigDecimal ? bigDecimal.toBigInteger() : null;
+    private static @NotNull Object convert(final Number source, final NumberType target) {
+        if (source instanceof Integer || source instanceof Long || source instanceof Short || source instanceof Byte) {
+            return target.fromLong(source.longValue());
+        } else if (source instanceof Double) {
+            return target.fromDouble(source.doubleValue());
+        } else if (source instanceof Float) {
+            return target.fromFloat(source.floatValue());
+        } else if (source instanceof BigInteger bigInteger) {
+            return target.fromBigInteger(bigInteger);
+        } else if (source instanceof BigDecimal bigDecimal) {
+            return target.fromBigDecimal(bigDecimal);
+        }
+
+        return target.fromNumber(source);
+    }
+
+    private static int intValue(final Number source, final Type sourceType) {
+        final long value = longValue(source, sourceType, int.class);
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return source.intValue();
+        }
+
+        throw new ConversionFailedException(sourceType, int.class, source);
+    }
 
-        if (bigInt == null || (bigInt.compareTo(LONG_MIN) >= 0 && bigInt.compareTo(LONG_MAX) <= 0)) {
+    private static long longValue(final Number source, final Type sourceType, final Type targetType) {
+        if (inLongRange(source)) {
             return source.longValue();
         }
 
         throw new ConversionFailedException(sourceType, targetType, source);
     }
+
+    private static boolean inLongRange(final Number source) {
+        if (source instanceof BigInteger bigInteger) {
+            return inLongRange(bigInteger);
+        } else if (source instanceof BigDecimal bigDecimal) {
+            return inLongRange(bigDecimal);
+        }
+
+        return true;
+    }
+
+    private static boolean inLongRange(final BigInteger source) {
+        return source.bitLength() < Long.SIZE;
+    }
+
+    private static boolean inLongRange(final BigDecimal source) {
+        // Integer parts with less than 19 digits always fit, so only huge values have to be compared
+        return source.precision() - source.scale() < 19
+            || (source.compareTo(LONG_LOWER_BOUND) > 0 && source.compareTo(LONG_UPPER_BOUND) < 0);
+    }
+
+    private static @NotNull BigDecimal decimal(final double value) {
+        // Doubles printed without an exponent are searched for as a short decimal, all others are printed
+        final double magnitude = Math.abs(value);
+        if (magnitude == 0 || (magnitude >= 1e-3 && magnitude < 1e7)) {
+            for (int scale = 1; scale < DOUBLE_POWERS.length; scale++) {
+                final double scaled = value * DOUBLE_POWERS[scale];
+                if (Math.abs(scaled) >= 0x1p53) {
+                    break;
+                }
+                // Both operands are exact, so the division rounds the decimal to the nearest double
+                final long unscaled = Math.round(scaled);
+                if (unscaled / DOUBLE_POWERS[scale] == value) {
+                    return BigDecimal.valueOf(unscaled, scale);
+                }
+            }
+        }
+
+        return BigDecimal.valueOf(value);
+    }
+
+    private static @NotNull BigDecimal decimal(final float value) {
+        // The float has to be printed as a float, as widening it to a double adds digits
+        final float magnitude = Math.abs(value);
+        if (magnitude == 0 || (magnitude >= 1e-3f && magnitude < 1e7f)) {
+            for (int scale = 1; scale < FLOAT_POWERS.length; scale++) {
+                final float scaled = value * FLOAT_POWERS[scale];
+                if (Math.abs(scaled) >= 0x1p24f) {
+                    break;
+                }
+                final int unscaled = Math.round(scaled);
+                if (unscaled / FLOAT_POWERS[scale] == value) {
+                    return BigDecimal.valueOf(unscaled, scale);
+                }
+            }
+        }
+
+        return new BigDecimal(Float.toString(value));
+    }
+
+    private enum NumberType {
+        BYTE {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE ? (Object) (byte) value : FAILED;
+            }
+        },
+        SHORT {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return value >= Short.MIN_VALUE && value <= Short.MAX_VALUE ? (Object) (short) value : FAILED;
+            }
+        },
+        INTEGER {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : FAILED;
+            }
+        },
+        LONG {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return value;
+            }
+        },
+        FLOAT {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return (float) value;
+            }
+
+            @Override
+            @NotNull Object fromDouble(final double value) {
+                return (float) value;
+            }
+
+            @Override
+            @NotNull Object fromBigInteger(@NotNull final BigInteger value) {
+                return value.floatValue();
+            }
+
+            @Override
+            @NotNull Object fromBigDecimal(@NotNull final BigDecimal value) {
+                return value.floatValue();
+            }
+
+            @Override
+            @NotNull Object fromNumber(@NotNull final Number value) {
+                return value.floatValue();
+            }
+        },
+        DOUBLE {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return (double) value;
+            }
+
+            @Override
+            @NotNull Object fromDouble(final double value) {
+                return value;
+            }
+
+            @Override
+            @NotNull Object fromBigInteger(@NotNull final BigInteger value) {
+                return value.doubleValue();
+            }
+
+            @Override
+            @NotNull Object fromBigDecimal(@NotNull final BigDecimal value) {
+                return value.doubleValue();
+            }
+
+            @Override
+            @NotNull Object fromNumber(@NotNull final Number value) {
+                return value.doubleValue();
+            }
+        },
+        BIG_INTEGER {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return BigInteger.valueOf(value);
+            }
+
+            @Override
+            @NotNull Object fromBigInteger(@NotNull final BigInteger value) {
+                return value;
+            }
+
+            @Override
+            @NotNull Object fromBigDecimal(@NotNull final BigDecimal value) {
+                return value.toBigInteger();
+            }
+        },
+        BIG_DECIMAL {
+            @Override
+            @NotNull Object fromLong(final long value) {
+                return BigDecimal.valueOf(value);
+            }
+
+            @Override
+            @NotNull Object fromDouble(final double value) {
+                // Uses the shortest decimal representation, like Double#toString
+                return Double.isFinite(value) ? decimal(value) : FAILED;
+            }
+
+            @Override
+            @NotNull Object fromFloat(final float value) {
+                return Float.isFinite(value) ? decimal(value) : FAILED;
+            }
+
+            @Override
+            @NotNull Object fromBigInteger(@NotNull final BigInteger value) {
+                return new BigDecimal(value);
+            }
+
+            @Override
+            @NotNull Object fromBigDecimal(@NotNull final BigDecimal value) {
+                return value;
+            }
+
+            @Override
+            @NotNull Object fromNumber(@NotNull final Number value) {
+                // Integral numbers keep their long value, all others are converted like doubles
+                final long longValue = value.longValue();
+                final double doubleValue = value.doubleValue();
+                return doubleValue == longValue ? BigDecimal.valueOf(longValue) : this.fromDouble(doubleValue);
+            }
+        };
+
+        abstract @NotNull Object fromLong(long value);
+
+        // Integral targets truncate fractions, all other targets override the conversions they support
+        @NotNull Object fromDouble(final double value) {
+            return this.fromLong((long) value);
+        }
+
+        @NotNull Object fromFloat(final float value) {
+            return this.fromDouble(value);
+        }
+
+        @NotNull Object fromBigInteger(@NotNull final BigInteger value) {
+            return inLongRange(value) ? this.fromLong(value.longValue()) : FAILED;
+        }
+
+        @NotNull Object fromBigDecimal(@NotNull final BigDecimal value) {
+            return inLongRange(value) ? this.fromLong(value.longValue()) : FAILED;
+        }
+
+        @NotNull Object fromNumber(@NotNull final Number value) {
+            return this.fromLong(value.longValue());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Conversion {
+
+        @NotNull Object apply(@NotNull Number source);
+    }
+
+    private static final class SpecializedConverter implements Converter<Number, Number>, ToIntConverter<Number>,
+        ToLongConverter<Number>, ToDoubleConverter<Number> {
+
+        private final Conversion conversion;
+
+        private SpecializedConverter(final Conversion conversion) {
+            this.conversion = conversion;
+        }
+
+        @Override
+        public Number convert(@NotNull Number source, @NotNull Type sourceType, @NotNull Type targetType) {
+            final Object result = this.conversion.apply(source);
+            if (result == FAILED) {
+                throw new ConversionFailedException(sourceType, targetType, source);
+            }
+
+            return (Number) result;
+        }
+
+        @Override
+        public @NotNull Object tryConvert(@NotNull Number source, @NotNull Type sourceType, @NotNull Type targetType) {
+            return this.conversion.apply(source);
+        }
+
+        @Override
+        public int convertToInt(@NotNull Number source, @NotNull Type sourceType) {
+            return intValue(source, sourceType);
+        }
+
+        @Override
+        public long convertToLong(@NotNull Number source, @NotNull Type sourceType) {
+            return longValue(source, sourceType, long.class);
+        }
+
+        @Override
+        public double convertToDouble(@NotNull Number source, @NotNull Type sourceType) {
+            return source.doubleValue();
+        }
+    }
 }
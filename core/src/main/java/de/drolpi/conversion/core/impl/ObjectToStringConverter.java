@@ -27,4 +27,10 @@ public final class ObjectToStringConverter implements Converter<Object, String>
     public @NotNull String convert(@NotNull Object source, @NotNull Type sourceType, @NotNull Type targetType) {
         return source.toString();
     }
+
+    @Override
+    public int cost() {
+        // Formatting allocates a new string
+        return 2;
+    }
 }
@@ -17,6 +17,7 @@
 package de.drolpi.conversion.core.impl;
 
 import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.converter.ToBooleanConverter;
 import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -25,17 +26,43 @@
 import java.util.Locale;
 import java.util.Set;
 
-public final class StringToBooleanConverter implements Converter<String, Boolean> {
+public final class StringToBooleanConverter implements Converter<String, Boolean>, ToBooleanConverter<String> {
 
     private static final Set<String> TRUE_VALUES = Set.of("true", "t", "on", "yes", "y", "1");
     private static final Set<String> FALSE_VALUES = Set.of("false", "f", "off", "no", "n", "0");
 
     @Override
     public @Nullable Boolean convert(@NotNull String source, @NotNull Type sourceType, @NotNull Type targetType) {
+        final Object result = this.tryConvert(source, sourceType, targetType);
+        if (result == FAILED) {
+            throw new ConversionFailedException(sourceType, targetType, source);
+        }
+
+        return (Boolean) result;
+    }
+
+    @Override
+    public @Nullable Object tryConvert(@NotNull String source, @NotNull Type sourceType, @NotNull Type targetType) {
         if (source.isEmpty()) {
             return null;
         }
 
+        final Boolean value = parse(source);
+        return value != null ? value : FAILED;
+    }
+
+    @Override
+    public boolean convertToBoolean(@NotNull String source, @NotNull Type sourceType) {
+        final Boolean value = parse(source);
+        if (value == null) {
+            throw new ConversionFailedException(sourceType, boolean.class, source);
+        }
+
+        return value;
+    }
+
+    // Returns null if the source is neither a true nor a false value
+    private static @Nullable Boolean parse(@NotNull final String source) {
         final String trimmed = source.trim().toLowerCase(Locale.ROOT);
         if (TRUE_VALUES.contains(trimmed)) {
             return Boolean.TRUE;
@@ -45,6 +72,6 @@ public final class StringToBooleanConverter implements Converter<String, Boolean
             return Boolean.FALSE;
         }
 
-        throw new ConversionFailedException(sourceType, targetType, source);
+        return null;
     }
 }
@@ -39,4 +39,12 @@ public final class StringToCharacterConverter implements Converter<String, Chara
             "Can only convert a [String] with length of 1 to a [Character]; string value '" + source + "'  has "
                 + "length of " + source.length());
     }
+
+    @Override
+    public @Nullable Object tryConvert(@NotNull String source, @NotNull Type sourceType, @NotNull Type targetType) {
+        if (source.length() > 1) {
+            return FAILED;
+        }
+        return this.convert(source, sourceType, targetType);
+    }
 }
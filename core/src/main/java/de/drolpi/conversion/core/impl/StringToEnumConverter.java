@@ -18,7 +18,7 @@
 
 import de.drolpi.conversion.core.converter.ConversionPath;
 import de.drolpi.conversion.core.converter.NonGenericConverter;
-import io.leangen.geantyref.GenericTypeReflector;
+import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,16 +27,42 @@
 
 public final class StringToEnumConverter implements NonGenericConverter {
 
-    private final IntegerToEnumConverter helpConverter = new IntegerToEnumConverter();
+    // Enough digits for every ordinal, longer numbers can not match a constant
+    private static final int MAX_ORDINAL_DIGITS = 10;
+
+    private final boolean ignoreCase;
+
+    public StringToEnumConverter() {
+        this(false);
+    }
+
+    /**
+     * Creates a converter, which optionally matches the names of the constants regardless of their case. Exact
+     * matches are still preferred, and constants which only differ in case resolve to the one declared first.
+     *
+     * @param ignoreCase whether the case of the names should be ignored
+     */
+    public StringToEnumConverter(final boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
 
     @Override
     public boolean isSuitable(@Nullable Type sourceType, @NotNull Type targetType) {
         return true;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Object convert(@Nullable Object source, @Nullable Type sourceType, @NotNull Type targetType) {
+        final Object result = this.tryConvert(source, sourceType, targetType);
+        if (result == FAILED) {
+            throw new ConversionFailedException(sourceType, targetType, source);
+        }
+
+        return result;
+    }
+
+    @Override
+    public @Nullable Object tryConvert(@Nullable Object source, @Nullable Type sourceType, @NotNull Type targetType) {
         if (source == null) {
             return null;
         }
@@ -46,15 +72,19 @@ public Object convert(@Nullable Object source, @Nullable Type sourceType, @NotNu
             return null;
         }
 
-        try {
-            int id = Integer.parseInt(identifier);
-            return this.helpConverter.convert(id, int.class, targetType);
-        } catch (NumberFormatException ignored) {
-
+        final EnumTable table = EnumTable.of(targetType);
+        // Names are the common case, so they are looked up before trimming or parsing the identifier
+        Enum<?> constant = this.byName(table, identifier);
+        if (constant == null) {
+            final String trimmed = identifier.trim();
+            // Names never start with a digit or sign, so everything else can only be an ordinal
+            constant = trimmed.length() == identifier.length() ? null : this.byName(table, trimmed);
+            if (constant == null) {
+                constant = table.byOrdinal(ordinal(identifier));
+            }
         }
 
-        final Class<? extends Enum> enumType = (Class<? extends Enum>) GenericTypeReflector.erase(targetType);
-        return Enum.valueOf(enumType, identifier.trim());
+        return constant != null ? constant : FAILED;
     }
 
     @Override
@@ -63,4 +93,29 @@ public Object convert(@Nullable Object source, @Nullable Type sourceType, @NotNu
             new ConversionPath(String.class, Enum.class)
         );
     }
+
+    private @Nullable Enum<?> byName(@NotNull final EnumTable table, @NotNull final String name) {
+        return this.ignoreCase ? table.byNameIgnoreCase(name) : table.byName(name);
+    }
+
+    private static int ordinal(@NotNull final String identifier) {
+        // Parses the identifier like Integer#parseInt, returning -1 instead of throwing if it is not an ordinal
+        final boolean negative = identifier.charAt(0) == '-';
+        final int start = negative || identifier.charAt(0) == '+' ? 1 : 0;
+        if (start == identifier.length() || identifier.length() - start > MAX_ORDINAL_DIGITS) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = start; i < identifier.length(); i++) {
+            final int digit = Character.digit(identifier.charAt(i), 10);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        // Only zero is an ordinal with a minus sign
+        return negative && value != 0 || value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
 }
@@ -17,76 +17,319 @@
 package de.drolpi.conversion.core.impl;
 
 import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.converter.ToDoubleConverter;
+import de.drolpi.conversion.core.converter.ToIntConverter;
+import de.drolpi.conversion.core.converter.ToLongConverter;
 import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
-public final class StringToNumberConverter implements Converter<String, Number> {
+/**
+ * Parses numbers from any {@link CharSequence}. Whitespace around the number is skipped, and integers may be signed
+ * and may be given in hex with a {@code 0x}, {@code 0X} or {@code #} prefix.
+ * <p>
+ * Primitive numbers are parsed directly from the range of the character sequence, without trimming or copying it.
+ * Only big numbers and decimals, which can not be rounded correctly by a single multiplication or division, are parsed
+ * from a copy.
+ */
+public final class StringToNumberConverter implements Converter<CharSequence, Number>, ToIntConverter<CharSequence>,
+    ToLongConverter<CharSequence>, ToDoubleConverter<CharSequence> {
+
+    // Powers of ten, which are exactly representable
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    // Decimal integers of at most as many digits fit into a long
+    private static final int MAX_SAFE_DIGITS = 18;
+    // Mantissas of at most as many digits are exactly representable
+    private static final int DOUBLE_MANTISSA_DIGITS = 15;
+    private static final int FLOAT_MANTISSA_DIGITS = 7;
 
     @Override
-    public Number convert(@NotNull String source, @NotNull Type sourceType, @NotNull Type targetType) {
-        if (source.isEmpty()) {
+    public Number convert(@NotNull CharSequence source, @NotNull Type sourceType, @NotNull Type targetType) {
+        final Object result = this.tryConvert(source, sourceType, targetType);
+        if (result == FAILED) {
+            throw new ConversionFailedException(sourceType, targetType, source);
+        }
+
+        return (Number) result;
+    }
+
+    @Override
+    public @Nullable Object tryConvert(@NotNull CharSequence source, @NotNull Type sourceType, @NotNull Type targetType) {
+        if (source.length() == 0) {
             return null;
         }
 
-        final String trimmed = source.trim();
+        final int start = this.start(source);
+        final int end = this.end(source, start);
         try {
             if (Byte.class == targetType || byte.class == targetType) {
-                return (this.isHexNumber(trimmed) ? Byte.decode(trimmed) : Byte.valueOf(trimmed));
+                return !this.isInteger(source, start, end) ? FAILED : (byte) this.parseLong(source, start, end, Byte.MIN_VALUE, Byte.MAX_VALUE);
             } else if (Short.class == targetType || short.class == targetType) {
-                return (this.isHexNumber(trimmed) ? Short.decode(trimmed) : Short.valueOf(trimmed));
+                return !this.isInteger(source, start, end) ? FAILED : (short) this.parseLong(source, start, end, Short.MIN_VALUE, Short.MAX_VALUE);
             } else if (Integer.class == targetType || int.class == targetType) {
-                return (this.isHexNumber(trimmed) ? Integer.decode(trimmed) : Integer.valueOf(trimmed));
+                return !this.isInteger(source, start, end) ? FAILED : (int) this.parseLong(source, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
             } else if (Long.class == targetType || long.class == targetType) {
-                return (this.isHexNumber(trimmed) ? Long.decode(trimmed) : Long.valueOf(trimmed));
+                return !this.isInteger(source, start, end) ? FAILED : this.parseLong(source, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
             } else if (BigInteger.class == targetType) {
-                return (this.isHexNumber(trimmed) ? this.decodeBigInteger(trimmed) : new BigInteger(trimmed));
+                return !this.isInteger(source, start, end) ? FAILED : this.parseBigInteger(source, start, end);
             } else if (Float.class == targetType || float.class == targetType) {
-                return Float.valueOf(trimmed);
+                return this.parseFloat(source, start, end);
             } else if (Double.class == targetType || double.class == targetType) {
-                return Double.valueOf(trimmed);
+                return this.parseDouble(source, start, end);
             } else if (BigDecimal.class == targetType || Number.class == targetType) {
-                return new BigDecimal(trimmed);
+                return new BigDecimal(source.subSequence(start, end).toString());
             }
         } catch (NumberFormatException ignored) {
+            // Only reached for out of range integers and malformed decimals
+        }
+
+        return FAILED;
+    }
+
+    @Override
+    public int cost() {
+        // Parsing is far more expensive than converting between numbers
+        return 2;
+    }
+
+    @Override
+    public int convertToInt(@NotNull CharSequence source, @NotNull Type sourceType) {
+        final int start = this.start(source);
+        final int end = this.end(source, start);
+        try {
+            if (this.isInteger(source, start, end)) {
+                return (int) this.parseLong(source, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+        } catch (NumberFormatException ignored) {
+
+        }
+
+        throw new ConversionFailedException(sourceType, int.class, source);
+    }
+
+    @Override
+    public long convertToLong(@NotNull CharSequence source, @NotNull Type sourceType) {
+        final int start = this.start(source);
+        final int end = this.end(source, start);
+        try {
+            if (this.isInteger(source, start, end)) {
+                return this.parseLong(source, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+        } catch (NumberFormatException ignored) {
+
+        }
+
+        throw new ConversionFailedException(sourceType, long.class, source);
+    }
+
+    @Override
+    public double convertToDouble(@NotNull CharSequence source, @NotNull Type sourceType) {
+        final int start = this.start(source);
+        try {
+            return this.parseDouble(source, start, this.end(source, start));
+        } catch (NumberFormatException ignored) {
+
+        }
+
+        throw new ConversionFailedException(sourceType, double.class, source);
+    }
+
+    private int start(CharSequence value) {
+        // Skips the same characters as String#trim()
+        int start = 0;
+        while (start < value.length() && value.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int end(CharSequence value, int start) {
+        int end = value.length();
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private boolean isInteger(CharSequence value, int start, int end) {
+        // Rejects malformed integers up front, so that they do not cost a NumberFormatException
+        int index = start + this.signLength(value, start, end);
+        final int prefixLength = this.hexPrefixLength(value, index, end);
+        final int radix = prefixLength > 0 ? 16 : 10;
+        index += prefixLength;
 
+        if (index >= end) {
+            return false;
         }
 
-        throw new ConversionFailedException(sourceType, targetType, source);
+        for (; index < end; index++) {
+            final char c = value.charAt(index);
+            if ((c < '0' || c > '9') && Character.digit(c, radix) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private boolean isHexNumber(String value) {
-        final int index = (value.startsWith("-") ? 1 : 0);
-        return (value.startsWith("0x", index) || value.startsWith("0X", index) || value.startsWith("#", index));
+    private long parseLong(CharSequence value, int start, int end, long min, long max) {
+        final int signLength = this.signLength(value, start, end);
+        final int prefixLength = this.hexPrefixLength(value, start + signLength, end);
+        final int digitsStart = start + signLength + prefixLength;
+        final long result;
+
+        if (prefixLength == 0 && end - digitsStart <= MAX_SAFE_DIGITS) {
+            // Can not overflow, and the digits have already been checked
+            long magnitude = 0;
+            for (int index = digitsStart; index < end; index++) {
+                final char c = value.charAt(index);
+                magnitude = magnitude * 10 + (c <= '9' ? c - '0' : Character.digit(c, 10));
+            }
+            result = signLength > 0 && value.charAt(start) == '-' ? -magnitude : magnitude;
+        } else if (prefixLength == 0) {
+            // Handles the sign itself
+            result = Long.parseLong(value, start, end, 10);
+        } else {
+            final boolean negative = signLength > 0 && value.charAt(start) == '-';
+            final long magnitude = Long.parseUnsignedLong(value, digitsStart, end, 16);
+
+            // The magnitude of the smallest long is one larger than the largest long
+            if (Long.compareUnsigned(magnitude, negative ? Long.MIN_VALUE : Long.MAX_VALUE) > 0) {
+                throw new NumberFormatException("Value out of range: " + value);
+            }
+            result = negative ? -magnitude : magnitude;
+        }
+
+        if (result < min || result > max) {
+            throw new NumberFormatException("Value out of range: " + value);
+        }
+        return result;
     }
 
-    private BigInteger decodeBigInteger(String value) {
-        int radix = 10;
-        int index = 0;
-        boolean negative = false;
+    private BigInteger parseBigInteger(CharSequence value, int start, int end) {
+        final int signLength = this.signLength(value, start, end);
+        final int prefixLength = this.hexPrefixLength(value, start + signLength, end);
 
-        // Handle minus sign, if present.
-        if (value.startsWith("-")) {
-            negative = true;
-            index++;
+        if (prefixLength == 0) {
+            return new BigInteger(value.subSequence(start, end).toString());
         }
 
-        // Handle radix specifier, if present.
-        if (value.startsWith("0x", index) || value.startsWith("0X", index)) {
-            index += 2;
-            radix = 16;
-        } else if (value.startsWith("#", index)) {
-            index++;
-            radix = 16;
-        } else if (value.startsWith("0", index) && value.length() > 1 + index) {
-            index++;
-            radix = 8;
+        final BigInteger result = new BigInteger(value.subSequence(start + signLength + prefixLength, end).toString(), 16);
+        return (signLength > 0 && value.charAt(start) == '-' ? result.negate() : result);
+    }
+
+    private float parseFloat(CharSequence value, int start, int end) {
+        final double result = this.parseDecimal(value, start, end, true);
+        // Converting a float to double and back is exact
+        return !Double.isNaN(result) ? (float) result : Float.parseFloat(value.subSequence(start, end).toString());
+    }
+
+    private double parseDouble(CharSequence value, int start, int end) {
+        final double result = this.parseDecimal(value, start, end, false);
+        return !Double.isNaN(result) ? result : Double.parseDouble(value.subSequence(start, end).toString());
+    }
+
+    private double parseDecimal(CharSequence value, int start, int end, boolean singlePrecision) {
+        // A mantissa and a power of ten, which are both exactly representable, are rounded correctly by a single
+        // multiplication or division. Everything else is reported as NaN and left to the full parser.
+        final int maxDigits = singlePrecision ? FLOAT_MANTISSA_DIGITS : DOUBLE_MANTISSA_DIGITS;
+        int index = start + this.signLength(value, start, end);
+        final boolean negative = index > start && value.charAt(start) == '-';
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean point = false;
+        boolean anyDigit = false;
+
+        for (; index < end; index++) {
+            final char c = value.charAt(index);
+
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (point) {
+                    exponent--;
+                }
+                // Leading zeros are not significant
+                if (mantissa == 0 && c == '0') {
+                    continue;
+                }
+                if (++digits > maxDigits) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if ((c == 'e' || c == 'E') && anyDigit) {
+                final int explicitExponent = this.parseExponent(value, index + 1, end);
+                if (explicitExponent == Integer.MIN_VALUE) {
+                    return Double.NaN;
+                }
+                exponent += explicitExponent;
+                break;
+            } else {
+                return Double.NaN;
+            }
+        }
+
+        if (!anyDigit) {
+            return Double.NaN;
+        }
+
+        final double result;
+        if (mantissa == 0) {
+            result = 0;
+        } else if (singlePrecision) {
+            if (Math.abs(exponent) >= FLOAT_POWERS_OF_TEN.length) {
+                return Double.NaN;
+            }
+            result = exponent >= 0 ? (float) mantissa * FLOAT_POWERS_OF_TEN[exponent] : (float) mantissa / FLOAT_POWERS_OF_TEN[-exponent];
+        } else {
+            if (Math.abs(exponent) >= DOUBLE_POWERS_OF_TEN.length) {
+                return Double.NaN;
+            }
+            result = exponent >= 0 ? mantissa * DOUBLE_POWERS_OF_TEN[exponent] : mantissa / DOUBLE_POWERS_OF_TEN[-exponent];
+        }
+        return negative ? -result : result;
+    }
+
+    private int parseExponent(CharSequence value, int start, int end) {
+        int index = start + this.signLength(value, start, end);
+        final boolean negative = index > start && value.charAt(start) == '-';
+        int exponent = 0;
+
+        // Longer exponents are out of the range of the fast path anyway
+        if (index >= end || end - index > 3) {
+            return Integer.MIN_VALUE;
+        }
+
+        for (; index < end; index++) {
+            final char c = value.charAt(index);
+            if (c < '0' || c > '9') {
+                return Integer.MIN_VALUE;
+            }
+            exponent = exponent * 10 + (c - '0');
         }
+        return negative ? -exponent : exponent;
+    }
+
+    private int signLength(CharSequence value, int index, int end) {
+        return index < end && (value.charAt(index) == '-' || value.charAt(index) == '+') ? 1 : 0;
+    }
 
-        final BigInteger result = new BigInteger(value.substring(index), radix);
-        return (negative ? result.negate() : result);
+    private int hexPrefixLength(CharSequence value, int index, int end) {
+        if (index < end && value.charAt(index) == '#') {
+            return 1;
+        }
+        if (index + 1 < end && value.charAt(index) == '0' && (value.charAt(index + 1) == 'x' || value.charAt(index + 1) == 'X')) {
+            return 2;
+        }
+        return 0;
     }
 }
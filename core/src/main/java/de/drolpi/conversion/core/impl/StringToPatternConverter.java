@@ -17,10 +17,12 @@
 package de.drolpi.conversion.core.impl;
 
 import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Type;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public final class StringToPatternConverter implements Converter<String, Pattern> {
 
@@ -29,6 +31,10 @@ public Pattern convert(@NotNull String source, @NotNull Type sourceType, @NotNul
         if (source.isEmpty()) {
             return null;
         }
-        return Pattern.compile(source);
+        try {
+            return Pattern.compile(source);
+        } catch (final PatternSyntaxException e) {
+            throw new ConversionFailedException(sourceType, targetType, source, e);
+        }
     }
 }
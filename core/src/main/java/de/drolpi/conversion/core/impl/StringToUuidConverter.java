@@ -17,6 +17,7 @@
 package de.drolpi.conversion.core.impl;
 
 import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.exception.ConversionFailedException;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Type;
@@ -26,6 +27,10 @@ public final class StringToUuidConverter implements Converter<String, UUID> {
 
     @Override
     public @NotNull UUID convert(@NotNull String source, @NotNull Type sourceType, @NotNull Type targetType) {
-        return UUID.fromString(source.trim());
+        try {
+            return UUID.fromString(source.trim());
+        } catch (final IllegalArgumentException e) {
+            throw new ConversionFailedException(sourceType, targetType, source, e);
+        }
     }
 }
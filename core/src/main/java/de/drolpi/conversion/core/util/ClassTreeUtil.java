@@ -30,13 +30,34 @@
 
 public final class ClassTreeUtil {
 
+    // Class hierarchies never change, so every tree is collected once per class
+    private static final ClassValue<List<Class<?>>> TREES = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(final Class<?> type) {
+            return List.copyOf(collectTree(type));
+        }
+    };
+
     private ClassTreeUtil() {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns the erased and boxed type followed by its super classes and interfaces, ending with {@link Object}.
+     * The returned list is immutable and shared between all callers.
+     *
+     * @param type the type to collect the tree of
+     * @return the type tree
+     */
     public static @NotNull List<Class<?>> collect(@NotNull final Type type) {
         requireNonNull(type, "type");
-        final Class<?> erasedType = GenericTypeReflector.erase(GenericTypeReflector.box(type));
+        if (type instanceof final Class<?> clazz && !clazz.isPrimitive()) {
+            return TREES.get(clazz);
+        }
+        return TREES.get(GenericTypeReflector.erase(GenericTypeReflector.box(type)));
+    }
+
+    private static @NotNull List<Class<?>> collectTree(@NotNull final Class<?> erasedType) {
         final List<Class<?>> tree = new ArrayList<>(20);
         final Set<Class<?>> visited = new HashSet<>(20);
 
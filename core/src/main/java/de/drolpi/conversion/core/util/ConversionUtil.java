@@ -17,9 +17,9 @@
 package de.drolpi.conversion.core.util;
 
 import de.drolpi.conversion.core.ConversionBus;
-import io.leangen.geantyref.GenericTypeReflector;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
@@ -29,21 +29,38 @@ private ConversionUtil() {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Returns the component type of an array type or the type arguments of a parameterized type. The component type of
+     * an array class is resolved once per class, the returned array may be shared and must not be modified. The type
+     * arguments of a parameterized type are read from the type on every call, which copies a small array but, unlike a
+     * cache lookup, never hashes the type.
+     *
+     * @param type the container type
+     * @param maxLength the number of element types the container type is expected to have
+     * @return the element types, null if the type is neither an array type nor a parameterized type
+     * @throws IllegalArgumentException if the type has a different number of element types
+     */
     public static Type[] elementTypes(final Type type, int maxLength) {
-        final Class<?> erased = GenericTypeReflector.erase(type);
         final Type[] typeArgs;
 
-        if (erased.isArray()) {
-            typeArgs = new Type[]{GenericTypeReflector.getArrayComponentType(type)};
-        } else {
-            if (!(type instanceof ParameterizedType parameterizedType)) {
-                return null;
-            }
+        if (type instanceof final Class<?> clazz) {
+            typeArgs = TypeDescriptor.of(clazz).elementTypeArray();
+        } else if (type instanceof final ParameterizedType parameterizedType) {
+            // Not memoized, looking the type up would hash its type arguments deeply
             typeArgs = parameterizedType.getActualTypeArguments();
+        } else if (type instanceof final GenericArrayType arrayType) {
+            typeArgs = new Type[]{arrayType.getGenericComponentType()};
+        } else {
+            typeArgs = null;
+        }
+
+        if (typeArgs == null) {
+            return null;
         }
 
         if (typeArgs.length != maxLength) {
-            throw new RuntimeException();
+            throw new IllegalArgumentException("Expected " + maxLength + " element types of " + type.getTypeName()
+                + ", but found " + typeArgs.length);
         }
 
         return typeArgs;
@@ -57,10 +74,8 @@ public static Type[] elementTypes(final Type type, int maxLength) {
         return types[0];
     }
 
-    public static boolean canConvertElements(Type sourceType, Type targetType, ConversionBus conversionBus) {
-        final Type sourceElementType = elementType(sourceType, 1);
-        final Type targetElementType = elementType(targetType, 1);
-
+    public static boolean canConvertElements(Type sourceElementType, Type targetElementType, ConversionBus conversionBus) {
+        // The callers have already resolved the element types, they must not be resolved a second time
         if (targetElementType == Object.class) {
             return true;
         }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023-2024 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core.util;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Describes a class by the metadata converters ask for over and over again. A descriptor is computed once per class
+ * and attached to it, so that boxing a class or resolving its component type does not show up on hot paths.
+ * <p>
+ * Only classes are described. Erasing any other type is cheaper than looking it up in a cache, so callers erase such
+ * types directly.
+ */
+public final class TypeDescriptor {
+
+    private static final ClassValue<TypeDescriptor> DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected TypeDescriptor computeValue(final Class<?> type) {
+            return new TypeDescriptor(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Class<?> boxedType;
+    private final @Nullable Type[] elementTypeArray;
+
+    private TypeDescriptor(@NotNull final Class<?> type) {
+        this.type = type;
+        this.boxedType = GenericTypeReflector.erase(GenericTypeReflector.box(type));
+        this.elementTypeArray = type.isArray() ? new Type[]{type.getComponentType()} : null;
+    }
+
+    /**
+     * Returns the descriptor of the given class.
+     *
+     * @param type the class to describe
+     * @return the descriptor
+     */
+    public static @NotNull TypeDescriptor of(@NotNull final Class<?> type) {
+        requireNonNull(type, "type");
+        return DESCRIPTORS.get(type);
+    }
+
+    /**
+     * Returns the erasure of the given type, or its wrapper class if the type is primitive. Classes are boxed through
+     * their descriptor, all other types are erased and boxed directly.
+     *
+     * @param type the type to box
+     * @return the boxed and erased type
+     */
+    public static @NotNull Class<?> boxedType(@NotNull final Type type) {
+        requireNonNull(type, "type");
+        if (type instanceof final Class<?> clazz) {
+            return DESCRIPTORS.get(clazz).boxedType;
+        }
+        return GenericTypeReflector.erase(GenericTypeReflector.box(type));
+    }
+
+    public @NotNull Class<?> type() {
+        return this.type;
+    }
+
+    /**
+     * Returns the class, or its wrapper class if the class is primitive.
+     *
+     * @return the boxed class
+     */
+    public @NotNull Class<?> boxedType() {
+        return this.boxedType;
+    }
+
+    // Shared between all callers, so it must not be modified
+    @Nullable Type[] elementTypeArray() {
+        return this.elementTypeArray;
+    }
+
+    public boolean isArray() {
+        return this.elementTypeArray != null;
+    }
+}
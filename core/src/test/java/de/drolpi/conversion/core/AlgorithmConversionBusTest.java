@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.drolpi.conversion.core;
+
+import de.drolpi.conversion.core.converter.ConversionPath;
+import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.converter.NonGenericConverter;
+import de.drolpi.conversion.core.exception.ConversionFailedException;
+import de.drolpi.conversion.core.exception.ConverterNotFoundException;
+import de.drolpi.conversion.core.impl.StringToUuidConverter;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlgorithmConversionBusTest {
+
+    @Test
+    void testChain() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value() + "-second"));
+        conversionBus.register(Second.class, Third.class, (source, sourceType, targetType) -> new Third(source.value() + "-third"));
+
+        assertEquals(new Third("first-second-third"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testShortestChain() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value() + "-second"));
+        conversionBus.register(Second.class, Integer.class, (source, sourceType, targetType) -> source.value().length());
+        conversionBus.register(Integer.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+        conversionBus.register(First.class, CharSequence.class, (source, sourceType, targetType) -> source.value());
+        conversionBus.register(CharSequence.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-direct"));
+
+        assertEquals(new Third("first-direct"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testCheapestChain() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value() + "-second"));
+        conversionBus.register(Second.class, Integer.class, (source, sourceType, targetType) -> source.value().length());
+        conversionBus.register(Integer.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+        conversionBus.register(First.class, CharSequence.class, (source, sourceType, targetType) -> source.value());
+        conversionBus.register(CharSequence.class, Third.class, new Converter<>() {
+            @Override
+            public Third convert(@NotNull final CharSequence source, @NotNull final Type sourceType, @NotNull final Type targetType) {
+                return new Third(source + "-direct");
+            }
+
+            @Override
+            public int cost() {
+                return 5;
+            }
+        });
+
+        assertEquals(new Third("12-third"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testHighCosts() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, expensive((source, sourceType, targetType) -> new Second(source.value())));
+        conversionBus.register(Second.class, Third.class, expensive((source, sourceType, targetType) -> new Third(source.value())));
+
+        // The costs of the chain exceed the range of an int
+        assertEquals(new Third("first"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testCheapChainAtMaxDepth() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm(CachePolicy.unbounded(), SearchPolicy.bounded(1, 3));
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value()));
+        conversionBus.register(Second.class, Long.class, (source, sourceType, targetType) -> (long) source.value().length());
+        conversionBus.register(Long.class, Integer.class, (source, sourceType, targetType) -> source.intValue());
+        conversionBus.register(First.class, Integer.class, costing(10, (source, sourceType, targetType) -> source.value().length()));
+        conversionBus.register(Integer.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+
+        // The cheaper chain reaches Integer at the maximum depth, so it must not hide the direct path
+        assertEquals(new Third("5-third"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testFallbackAfterBuiltInFailure() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, String.class, (source, sourceType, targetType) -> source.value());
+        conversionBus.register(String.class, UUID.class, new StringToUuidConverter());
+        conversionBus.register(UUID.class, Third.class, (source, sourceType, targetType) -> new Third(source.toString()));
+        conversionBus.register(First.class, Integer.class, costing(10, (source, sourceType, targetType) -> source.value().length()));
+        conversionBus.register(Integer.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+
+        // The cheaper chain fails to parse the UUID, which must fall back to the next chain
+        assertEquals(new Third("5-third"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testFallbackWithoutException() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, CharSequence.class, (source, sourceType, targetType) -> source.value());
+        conversionBus.register(CharSequence.class, Third.class, new Converter<>() {
+            @Override
+            public Third convert(@NotNull final CharSequence source, @NotNull final Type sourceType, @NotNull final Type targetType) {
+                throw new AssertionError("The failure should be reported by tryConvert");
+            }
+
+            @Override
+            public Object tryConvert(@NotNull final CharSequence source, @NotNull final Type sourceType, @NotNull final Type targetType) {
+                return FAILED;
+            }
+        });
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value()));
+        conversionBus.register(Second.class, Integer.class, (source, sourceType, targetType) -> source.value().length());
+        conversionBus.register(Integer.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+
+        assertEquals(new Third("5-third"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testPreferSuccessfulChain() {
+        final BasicConversionBus conversionBus = (BasicConversionBus) ConversionBus.createAlgorithm();
+        conversionBus.register(Marker.class, CharSequence.class, (source, sourceType, targetType) -> {
+            if (source instanceof Second) {
+                throw new ConversionFailedException(sourceType, targetType, source);
+            }
+            return "marker";
+        });
+        conversionBus.register(CharSequence.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-direct"));
+        conversionBus.register(Marker.class, Integer.class, (source, sourceType, targetType) -> 1);
+        conversionBus.register(Integer.class, Long.class, (source, sourceType, targetType) -> source.longValue());
+        conversionBus.register(Long.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+
+        final AlgorithmConversionBus.AlgorithmConverter converter =
+            (AlgorithmConversionBus.AlgorithmConverter) conversionBus.converter(Marker.class, Third.class);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new Third("marker-direct"), converter.convert(new First("first"), Marker.class, Third.class));
+            assertEquals(new Third("1-third"), converter.convert(new Second("second"), Marker.class, Third.class));
+        }
+
+        // Only the first conversion of the second source class tried the failing chain
+        final ChainStatistics statistics = (ChainStatistics) conversionBus;
+        assertEquals(6, statistics.successes());
+        assertEquals(1, statistics.failures());
+    }
+
+    @Test
+    void testChainDoesNotHideErrors() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, CharSequence.class, (source, sourceType, targetType) -> {
+            throw new IllegalStateException();
+        });
+        conversionBus.register(CharSequence.class, Third.class, (source, sourceType, targetType) -> new Third(source.toString()));
+
+        // Only conversion failures make the next chain be tried
+        assertThrowsExactly(IllegalStateException.class, () -> conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testSearchPolicy() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm(CachePolicy.unbounded(), SearchPolicy.bounded(1, 2));
+        conversionBus.register(First.class, CharSequence.class, (source, sourceType, targetType) -> source.value());
+        conversionBus.register(CharSequence.class, Third.class, (source, sourceType, targetType) -> {
+            throw new ConversionFailedException(sourceType, targetType, source);
+        });
+        conversionBus.register(First.class, Integer.class, (source, sourceType, targetType) -> source.value().length());
+        conversionBus.register(Integer.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value()));
+        conversionBus.register(Second.class, Long.class, (source, sourceType, targetType) -> (long) source.value().length());
+        conversionBus.register(Long.class, Third.class, (source, sourceType, targetType) -> new Third(source + "-third"));
+
+        // Only the first chain is kept, and the chain of three converters is too deep anyway
+        assertThrowsExactly(ConversionFailedException.class, () -> conversionBus.convert(new First("first"), Third.class));
+        assertEquals(new Third("5-third"), conversionBus.convert(new Second("first"), Third.class));
+        assertThrowsExactly(IllegalArgumentException.class, () -> SearchPolicy.bounded(0, 5));
+    }
+
+    @Test
+    void testParallelSearch() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final ConversionBus sequentialBus = ConversionBus.createAlgorithmDefault();
+            final ConversionBus parallelBus = ConversionBus.createAlgorithmDefault(CachePolicy.unbounded(), SearchPolicy.defaults().parallel(pool, 0));
+
+            assertEquals(sequentialBus.convert(Boolean.TRUE, Long.class), parallelBus.convert(Boolean.TRUE, Long.class));
+            assertEquals(sequentialBus.convert('1', Double.class), parallelBus.convert('1', Double.class));
+            assertEquals(sequentialBus.convert(1, String.class), parallelBus.convert(1, String.class));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testChainFromSuperType() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(Marker.class, Second.class, (source, sourceType, targetType) -> new Second("marker"));
+        conversionBus.register(Second.class, Third.class, (source, sourceType, targetType) -> new Third(source.value() + "-third"));
+
+        assertEquals(new Third("marker-third"), conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testUnregisterBreaksChain() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value()));
+        conversionBus.register(Second.class, Third.class, (source, sourceType, targetType) -> new Third(source.value()));
+        assertTrue(conversionBus.canConvert(First.class, Third.class));
+
+        conversionBus.unregister(Second.class, Third.class);
+        assertFalse(conversionBus.canConvert(First.class, Third.class));
+        assertThrowsExactly(ConverterNotFoundException.class, () -> conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testCanConvertChecksSuitableConverters() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value()));
+        conversionBus.register(new NonGenericConverter() {
+            @Override
+            public boolean isSuitable(final Type sourceType, final @NotNull Type targetType) {
+                return false;
+            }
+
+            @Override
+            public Object convert(final Object source, final Type sourceType, final @NotNull Type targetType) {
+                return new Third(source.toString());
+            }
+
+            @Override
+            public @NotNull Set<ConversionPath> paths() {
+                return Set.of(new ConversionPath(Second.class, Third.class));
+            }
+        });
+
+        // The erased paths connect both types, but no converter along them is suitable
+        assertFalse(conversionBus.canConvert(First.class, Third.class));
+        assertThrowsExactly(ConverterNotFoundException.class, () -> conversionBus.convert(new First("first"), Third.class));
+    }
+
+    @Test
+    void testCanConvertWithinMaximumDepth() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createAlgorithm();
+        conversionBus.register(First.class, Second.class, (source, sourceType, targetType) -> new Second(source.value()));
+        conversionBus.register(Second.class, Third.class, (source, sourceType, targetType) -> new Third(source.value()));
+        conversionBus.register(Third.class, Integer.class, (source, sourceType, targetType) -> source.value().length());
+        conversionBus.register(Integer.class, Long.class, (source, sourceType, targetType) -> source.longValue());
+        conversionBus.register(Long.class, Short.class, (source, sourceType, targetType) -> source.shortValue());
+        conversionBus.register(Short.class, Byte.class, (source, sourceType, targetType) -> source.byteValue());
+
+        // Five paths are the maximum depth, so the sixth one can not be reached
+        assertTrue(conversionBus.canConvert(First.class, Short.class));
+        assertFalse(conversionBus.canConvert(First.class, Byte.class));
+        assertTrue(conversionBus.canConvert(Second.class, Byte.class));
+        assertEquals((short) 5, conversionBus.convert(new First("first"), Short.class));
+        assertThrowsExactly(ConverterNotFoundException.class, () -> conversionBus.convert(new First("first"), Byte.class));
+    }
+
+    @Test
+    void testDefaultChain() {
+        final ConversionBus conversionBus = ConversionBus.createAlgorithmDefault();
+
+        // Boolean -> Integer -> Long
+        assertEquals(1L, conversionBus.convert(Boolean.TRUE, Long.class));
+    }
+
+    private static <S, T> Converter<S, T> expensive(final Converter<S, T> converter) {
+        return costing(Integer.MAX_VALUE, converter);
+    }
+
+    private static <S, T> Converter<S, T> costing(final int cost, final Converter<S, T> converter) {
+        return new Converter<>() {
+            @Override
+            public T convert(@NotNull final S source, @NotNull final Type sourceType, @NotNull final Type targetType) {
+                return converter.convert(source, sourceType, targetType);
+            }
+
+            @Override
+            public int cost() {
+                return cost;
+            }
+        };
+    }
+
+    interface Marker {
+
+    }
+
+    record First(String value) implements Marker {
+
+    }
+
+    record Second(String value) implements Marker {
+
+    }
+
+    record Third(String value) {
+
+    }
+}
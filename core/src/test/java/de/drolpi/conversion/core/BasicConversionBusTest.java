@@ -0,0 +1,281 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import de.drolpi.conversion.core.converter.ConversionPath;
+import de.drolpi.conversion.core.exception.ConverterNotFoundException;
+import de.drolpi.conversion.core.impl.ArrayToArrayConverter;
+import de.drolpi.conversion.core.util.ConversionUtil;
+import io.leangen.geantyref.TypeToken;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BasicConversionBusTest {
+
+    @Test
+    void testRegisterAfterCachedMiss() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.create();
+        assertFalse(conversionBus.canConvert(String.class, Integer.class));
+
+        conversionBus.register(String.class, Integer.class, (source, sourceType, targetType) -> source.length());
+        assertTrue(conversionBus.canConvert(String.class, Integer.class));
+        assertEquals(3, conversionBus.convert("foo", Integer.class));
+    }
+
+    @Test
+    void testUnregisterAfterCachedHit() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.create();
+        conversionBus.register(String.class, Integer.class, (source, sourceType, targetType) -> source.length());
+        assertEquals(3, conversionBus.convert("foo", Integer.class));
+
+        conversionBus.unregister(String.class, Integer.class);
+        assertThrowsExactly(ConverterNotFoundException.class, () -> conversionBus.convert("foo", Integer.class));
+    }
+
+    @Test
+    void testRegisterElementConverterAfterCachedMiss() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.create();
+        conversionBus.register(new ArrayToArrayConverter(conversionBus));
+        assertFalse(conversionBus.canConvert(String[].class, Wrapper[].class));
+
+        conversionBus.register(String.class, Wrapper.class, (source, sourceType, targetType) -> new Wrapper(source));
+        assertTrue(conversionBus.canConvert(String[].class, Wrapper[].class));
+        assertEquals(new Wrapper("foo"), conversionBus.convert(new String[]{"foo"}, Wrapper[].class)[0]);
+    }
+
+    @Test
+    void testNullSourceAfterRegister() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.create();
+        assertThrowsExactly(ConverterNotFoundException.class, () -> conversionBus.convert(null, Wrapper.class));
+
+        conversionBus.register(String.class, Wrapper.class, (source, sourceType, targetType) -> new Wrapper(source));
+        conversionBus.register(String.class, Box.class, (source, sourceType, targetType) -> new Box<>(source));
+        for (int i = 0; i < 2; i++) {
+            assertNull(conversionBus.convert(null, Wrapper.class));
+            assertNull(conversionBus.convert(null, new TypeToken<Box<String>>() {}));
+        }
+    }
+
+    @Test
+    void testManyTargetsForOneSource() {
+        final ConversionBus conversionBus = ConversionBus.createDefault();
+
+        // Fill the table of a single source type beyond its initial capacity
+        for (int i = 0; i < 3; i++) {
+            assertEquals((byte) 1, conversionBus.convert("1", Byte.class));
+            assertEquals((short) 1, conversionBus.convert("1", Short.class));
+            assertEquals(1, conversionBus.convert("1", Integer.class));
+            assertEquals(1L, conversionBus.convert("1", Long.class));
+            assertEquals(1F, conversionBus.convert("1", Float.class));
+            assertEquals(1D, conversionBus.convert("1", Double.class));
+            assertEquals(Boolean.TRUE, conversionBus.convert("1", Boolean.class));
+            assertEquals('1', conversionBus.convert("1", Character.class));
+            assertEquals("1", conversionBus.convert("1", String.class));
+        }
+    }
+
+    @Test
+    void testFreeze() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createDefault();
+        final ConversionBus frozenBus = conversionBus.freeze(Set.of(
+            new ConversionPath(String.class, Integer.class),
+            new ConversionPath(String.class, Wrapper.class)
+        ));
+
+        assertFalse(frozenBus instanceof ConverterRegistry);
+        assertEquals(1, frozenBus.convert("1", Integer.class));
+        assertFalse(frozenBus.canConvert(String.class, Wrapper.class));
+        assertThrowsExactly(ConverterNotFoundException.class, () -> frozenBus.convert("foo", Wrapper.class));
+
+        // Paths which have not been resolved in advance are delegated
+        assertEquals(1L, frozenBus.convert("1", Long.class));
+        assertEquals(Optional.of(1), frozenBus.convert("1", new TypeToken<Optional<Integer>>() {}));
+    }
+
+    @Test
+    void testFreezeRegisteredPaths() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.create();
+        conversionBus.register(String.class, Wrapper.class, (source, sourceType, targetType) -> new Wrapper(source));
+        final ConversionBus frozenBus = conversionBus.freeze();
+
+        // Later changes do not affect the resolved paths
+        conversionBus.unregister(String.class, Wrapper.class);
+        assertEquals(new Wrapper("foo"), frozenBus.convert("foo", Wrapper.class));
+        assertFalse(conversionBus.canConvert(String.class, Wrapper.class));
+    }
+
+    @Test
+    void testFreezeIndependentOfBus() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createDefault();
+        assertEquals(1, conversionBus.convert("1", Integer.class));
+        final ConversionBus frozenBus = conversionBus.freeze();
+
+        // Neither the resolved nor the unresolved conversions follow the original bus
+        conversionBus.register(String.class, Integer.class, (source, sourceType, targetType) -> source.length());
+        conversionBus.register(String.class, Wrapper.class, (source, sourceType, targetType) -> new Wrapper(source));
+        conversionBus.unregister(CharSequence.class, Number.class);
+        assertEquals(12, frozenBus.convert("12", Integer.class));
+        assertEquals(12L, frozenBus.convert("12", Long.class));
+        assertFalse(frozenBus.canConvert(String.class, Wrapper.class));
+        assertEquals(2, conversionBus.convert("12", Integer.class));
+    }
+
+    @Test
+    void testFreezeLookup() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createDefault();
+        assertEquals(1, conversionBus.convert("1", Integer.class));
+        final ConversionBus frozenBus = conversionBus.freeze();
+
+        // Pairs resolved in advance are bound to the table, registered paths from abstract types are not part of it
+        assertFalse(frozenBus.lookup(String.class, Integer.class) instanceof InlineCacheConversion);
+        assertTrue(frozenBus.lookup(CharSequence.class, Number.class) instanceof InlineCacheConversion);
+        assertTrue(frozenBus.lookup(String.class, Long.class) instanceof InlineCacheConversion);
+
+        final BoundConversion<String, Integer> conversion = frozenBus.lookup(String.class, Integer.class);
+        assertEquals(2, conversion.apply("2"));
+        assertNull(conversion.apply(null));
+        assertEquals(List.of(1, 2), frozenBus.convertAll(List.of("1", "2"), Integer.class));
+        assertEquals(List.of(1, 2), frozenBus.convertAll(List.of("1", 2L), Integer.class));
+
+        final Integer[] targets = new Integer[2];
+        frozenBus.convertAll(new String[]{"1", "2"}, Integer.class, targets);
+        assertArrayEquals(new Integer[]{1, 2}, targets);
+    }
+
+    @Test
+    void testLookup() {
+        final ConfigurableConversionBus conversionBus = ConversionBus.createDefault();
+        final BoundConversion<String, Integer> conversion = conversionBus.lookup(String.class, Integer.class);
+
+        assertEquals(Integer.class, conversion.targetType());
+        assertEquals(1, conversion.apply("1"));
+        assertEquals(2, conversion.apply("2"));
+        assertNull(conversion.apply(null));
+
+        // Converters registered later replace the cached ones
+        conversionBus.register(String.class, Integer.class, (source, sourceType, targetType) -> source.length());
+        assertEquals(3, conversion.apply("foo"));
+    }
+
+    @Test
+    void testLookupManySourceClasses() {
+        final ConversionBus conversionBus = ConversionBus.createDefault();
+        final BoundConversion<Number, Long> conversion = conversionBus.lookup(Number.class, Long.class);
+
+        // More source classes than the inline cache holds
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1L, conversion.apply((byte) 1));
+            assertEquals(1L, conversion.apply((short) 1));
+            assertEquals(1L, conversion.apply(1));
+            assertEquals(1L, conversion.apply(1L));
+            assertEquals(1L, conversion.apply(1F));
+            assertEquals(1L, conversion.apply(1D));
+        }
+
+        final BoundConversion<Object, Wrapper> unknown = conversionBus.lookup(Object.class, Wrapper.class);
+        assertThrowsExactly(ConverterNotFoundException.class, () -> unknown.apply("foo"));
+    }
+
+    @Test
+    void testDefaultLookup() {
+        final ConversionBus conversionBus = new ConversionBus() {
+            @Override
+            public boolean canConvert(final Type sourceType, final Type targetType) {
+                return targetType == Integer.class;
+            }
+
+            @Override
+            public Object convert(final Object source, final Type targetType) {
+                return source != null ? source.toString().length() : null;
+            }
+        };
+
+        final BoundConversion<String, Integer> conversion = conversionBus.lookup(String.class, Integer.class);
+        assertEquals(Integer.class, conversion.targetType());
+        assertEquals(3, conversion.apply("foo"));
+        assertNull(conversion.apply(null));
+    }
+
+    @Test
+    void testConvertAll() {
+        final ConversionBus conversionBus = ConversionBus.createDefault();
+
+        assertEquals(List.of(1L, 2L, 3L), conversionBus.convertAll(List.of("1", 2, 3D), Long.class));
+        assertEquals(Arrays.asList(1L, null), conversionBus.convertAll(Arrays.asList("1", null), Long.class));
+        assertEquals(Arrays.asList(null, 1L), conversionBus.convertAll(Arrays.asList(null, "1"), Long.class));
+
+        final Long[] targets = new Long[3];
+        conversionBus.convertAll(new String[]{"1", "2", "3"}, Long.class, targets);
+        assertArrayEquals(new Long[]{1L, 2L, 3L}, targets);
+        assertThrowsExactly(IllegalArgumentException.class, () -> conversionBus.convertAll(new String[]{"1"}, Long.class, new Long[0]));
+    }
+
+    @Test
+    void testNestedContainers() {
+        final ConversionBus conversionBus = ConversionBus.createDefault();
+        final TypeToken<List<Map<String, Set<Integer>>>> targetType = new TypeToken<>() {};
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(conversionBus.canConvert(new TypeToken<List<Map<String, List<String>>>>() {}.getType(), targetType.getType()));
+            assertFalse(conversionBus.canConvert(String.class, targetType.getType()));
+        }
+        assertThrowsExactly(IllegalArgumentException.class, () -> ConversionUtil.elementTypes(targetType.getType(), 2));
+    }
+
+    @Test
+    void testDiscardedBusReleased() throws InterruptedException {
+        final WeakReference<ConversionBus> reference = discardedBus();
+
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    private static WeakReference<ConversionBus> discardedBus() {
+        final ConversionBus conversionBus = ConversionBus.createDefault();
+
+        // Container converters reference the bus, so caching them must not attach the bus to the container classes
+        assertEquals(Set.of("1"), conversionBus.convert(new ArrayList<>(List.of("1")), Set.class));
+        assertNull(conversionBus.convert(null, List.class));
+        return new WeakReference<>(conversionBus);
+    }
+
+    record Wrapper(String value) {
+
+    }
+
+    record Box<T>(T value) {
+
+    }
+}
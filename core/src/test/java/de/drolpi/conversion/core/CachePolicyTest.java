@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023-2023 Lars Nippert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.drolpi.conversion.core;
+
+import io.leangen.geantyref.TypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+class CachePolicyTest {
+
+    @Test
+    void testClockKeepsMaximumSize() {
+        final CachePolicy.Cache<Integer, String> cache = CachePolicy.clock(2).createCache();
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.put(3, "3");
+
+        int size = 0;
+        for (int i = 1; i <= 3; i++) {
+            if (cache.get(i) != null) {
+                size++;
+            }
+        }
+        assertEquals(2, size);
+        assertEquals("3", cache.get(3));
+    }
+
+    @Test
+    void testClockKeepsReferencedEntries() {
+        final CachePolicy.Cache<Integer, String> cache = CachePolicy.clock(3).createCache();
+        cache.put(1, "1");
+        cache.put(2, "2");
+        cache.put(3, "3");
+
+        // Entry 1 is used, so the unused entries are evicted first
+        for (int i = 4; i <= 10; i++) {
+            assertEquals("1", cache.get(1));
+            cache.put(i, Integer.toString(i));
+        }
+
+        assertEquals("1", cache.get(1));
+        assertEquals("10", cache.get(10));
+    }
+
+    @Test
+    void testClockRemoveIfAndClear() {
+        final CachePolicy.Cache<Integer, String> cache = CachePolicy.clock(4).createCache();
+        for (int i = 1; i <= 4; i++) {
+            cache.put(i, Integer.toString(i));
+        }
+
+        cache.removeIf(key -> key % 2 == 0);
+        assertNull(cache.get(2));
+        assertEquals("3", cache.get(3));
+
+        // Removed slots are reused without evicting the remaining entries
+        cache.put(5, "5");
+        cache.put(6, "6");
+        assertEquals("1", cache.get(1));
+        assertEquals("3", cache.get(3));
+
+        cache.clear();
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    void testClockInvalidMaximumSize() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> CachePolicy.clock(0));
+    }
+
+    @Test
+    void testBusWithSmallCache() {
+        final ConversionBus conversionBus = ConversionBus.createDefault(CachePolicy.clock(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(1), conversionBus.convert("1", TypeFactory.parameterizedClass(Optional.class, Integer.class)));
+            assertEquals(Optional.of(1L), conversionBus.convert("1", TypeFactory.parameterizedClass(Optional.class, Long.class)));
+            assertEquals(List.of("1"), conversionBus.convert(1, TypeFactory.parameterizedClass(List.class, String.class)));
+        }
+    }
+}
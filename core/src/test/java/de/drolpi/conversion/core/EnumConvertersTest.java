@@ -16,6 +16,9 @@
 
 package de.drolpi.conversion.core;
 
+import de.drolpi.conversion.core.converter.Converter;
+import de.drolpi.conversion.core.exception.ConversionFailedException;
+import de.drolpi.conversion.core.impl.StringToEnumConverter;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -59,6 +62,29 @@ void testIntegerToEnumNull() {
         assertNull(this.conversionBus.convert(null, Foo.class));
     }
 
+    @Test
+    void testStringToEnumOrdinalAndUnknownName() {
+        assertEquals(Foo.BAZ, this.conversionBus.convert("1", Foo.class));
+        assertEquals(Foo.BAR, this.conversionBus.convert(" BAR ", Foo.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("QUX", Foo.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("2", Foo.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("bar", Foo.class));
+        assertEquals(Converter.FAILED, new StringToEnumConverter().tryConvert("-1", String.class, Foo.class));
+    }
+
+    @Test
+    void testStringToEnumIgnoreCase() {
+        final StringToEnumConverter converter = new StringToEnumConverter(true);
+        assertEquals(Foo.BAR, converter.convert("bar", String.class, Foo.class));
+        assertEquals(SubFoo.BAZ, converter.convert("Baz", String.class, SubFoo.BAZ.getClass()));
+    }
+
+    @Test
+    void testIntegerToEnumOutOfRange() {
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert(2, Foo.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert(-1, Foo.class));
+    }
+
     @Test
     void testEnumToInteger() {
         assertEquals(this.conversionBus.convert(Foo.BAR, Integer.class), 0);
@@ -16,15 +16,25 @@
 
 package de.drolpi.conversion.core;
 
+import de.drolpi.conversion.core.converter.Converter;
 import de.drolpi.conversion.core.exception.ConversionFailedException;
+import de.drolpi.conversion.core.impl.NumberToNumberConverter;
+import de.drolpi.conversion.core.impl.StringToNumberConverter;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NumberConvertersTest {
 
@@ -145,6 +155,119 @@ void testCharacterToNumber() {
         assertEquals(this.conversionBus.convert('A', Integer.class), 65);
     }
 
+    @Test
+    void testStringToPrimitive() {
+        assertEquals(1, this.conversionBus.convertToInt(" 1 "));
+        assertEquals(16, this.conversionBus.convertToInt("0x10"));
+        assertEquals(1L, this.conversionBus.convertToLong("1"));
+        assertEquals(1.5D, this.conversionBus.convertToDouble("1.5"));
+        assertTrue(this.conversionBus.convertToBoolean("yes"));
+    }
+
+    @Test
+    void testNumberToPrimitive() {
+        assertEquals(1, this.conversionBus.convertToInt(1L));
+        assertEquals(1L, this.conversionBus.convertToLong(new BigDecimal("1.5")));
+        assertEquals(1D, this.conversionBus.convertToDouble(1));
+        assertFalse(this.conversionBus.convertToBoolean(0));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convertToInt(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testPrimitiveWithoutValue() {
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convertToInt(""));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convertToInt("foo"));
+        // Converted via the boxed type
+        assertEquals(65, this.conversionBus.convertToInt('A'));
+    }
+
+    @Test
+    void testTryConvertWithoutValue() {
+        assertEquals(Converter.FAILED, new StringToNumberConverter().tryConvert("foo", String.class, Integer.class));
+        assertEquals(Converter.FAILED, new StringToNumberConverter().tryConvert("99999999999", String.class, Integer.class));
+        assertEquals(Converter.FAILED, new NumberToNumberConverter().tryConvert(Long.MAX_VALUE, Long.class, Integer.class));
+        assertEquals(16, new StringToNumberConverter().tryConvert("#10", String.class, Integer.class));
+    }
+
+    @Test
+    void testCharSequenceToNumber() {
+        assertEquals(31, this.conversionBus.convert(new StringBuilder(" 0x1F "), Integer.class));
+        assertEquals((short) -16, this.conversionBus.convert(CharBuffer.wrap("-#10"), Short.class));
+        assertEquals(5L, this.conversionBus.convert(new StringBuilder("+5"), Long.class));
+        assertEquals(Long.MIN_VALUE, this.conversionBus.convert("-0x8000000000000000", Long.class));
+        assertEquals(Long.MIN_VALUE, this.conversionBus.convert("-9223372036854775808", Long.class));
+        assertEquals(new BigInteger("-255"), this.conversionBus.convert(new StringBuilder("-0xFF"), BigInteger.class));
+        assertEquals(1.5D, this.conversionBus.convert(CharBuffer.wrap("\t1.5e0\n"), Double.class));
+        assertEquals(0.1F, this.conversionBus.convert(new StringBuilder("0.1"), Float.class));
+        assertEquals(42, this.conversionBus.convertToInt(new StringBuilder("42")));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("128", Byte.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("0x8000000000000000", Long.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("1e", Double.class));
+    }
+
+    @Test
+    void testNumberToNumberSpecialized() {
+        for (int i = 0; i < 2; i++) {
+            assertEquals((byte) -128, this.conversionBus.convert(-128L, Byte.class));
+            assertEquals(2, this.conversionBus.convert(2.9D, Integer.class));
+            assertEquals(new BigDecimal("0.1"), this.conversionBus.convert(0.1F, BigDecimal.class));
+            assertEquals(new BigDecimal("0.1"), this.conversionBus.convert(0.1D, BigDecimal.class));
+            assertEquals(BigDecimal.valueOf(3), this.conversionBus.convert(3, BigDecimal.class));
+            assertEquals(Long.MIN_VALUE, this.conversionBus.convert(new BigDecimal("-9223372036854775808.9"), Long.class));
+            assertEquals(BigInteger.TWO.pow(64), this.conversionBus.convert(BigInteger.TWO.pow(64), BigInteger.class));
+            assertEquals(1L, this.conversionBus.convert(new TestNumber(), Long.class) + 1L);
+            assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert(128, Byte.class));
+            assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert(Double.NaN, BigDecimal.class));
+            assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert(BigInteger.TWO.pow(63), Long.class));
+            assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert(new BigDecimal("9223372036854775808"), Long.class));
+        }
+        assertEquals(Converter.FAILED, new NumberToNumberConverter().tryConvert(new BigDecimal("1e19"), BigDecimal.class, Long.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBusResolvesSpecializedConverters() {
+        final NumberToNumberConverter registered = new NumberToNumberConverter();
+        final BasicConversionBus bus = new BasicConversionBus();
+        bus.register(Number.class, Number.class, registered);
+
+        final Object integerToLong = bus.unwrappedConverter(Integer.class, Long.class);
+        final Object doubleToBigDecimal = bus.unwrappedConverter(Double.class, BigDecimal.class);
+        assertNotSame(registered, integerToLong);
+        assertNotSame(registered, doubleToBigDecimal);
+        assertNotSame(integerToLong, doubleToBigDecimal);
+
+        assertEquals(5L, ((Converter<Number, Number>) integerToLong).convert(5, Integer.class, Long.class));
+        assertEquals(new BigDecimal("0.25"), ((Converter<Number, Number>) doubleToBigDecimal).convert(0.25D, Double.class, BigDecimal.class));
+        assertEquals(Converter.FAILED, ((Converter<Number, Number>) doubleToBigDecimal).tryConvert(Double.NaN, Double.class, BigDecimal.class));
+        assertEquals(5L, bus.convert(5, Long.class));
+        assertEquals(new BigDecimal("0.25"), bus.convert(0.25D, BigDecimal.class));
+    }
+
+    @Test
+    void testNumberToBigDecimalWithoutPrinting() {
+        assertEquals(new BigDecimal("3.0"), this.conversionBus.convert(3.0D, BigDecimal.class));
+        assertEquals(new BigDecimal("-0.001"), this.conversionBus.convert(-0.001F, BigDecimal.class));
+        assertEquals(new BigDecimal("1.0E7"), this.conversionBus.convert(1e7D, BigDecimal.class));
+        assertEquals(new BigDecimal("0.30000000000000004"), this.conversionBus.convert(0.1D + 0.2D, BigDecimal.class));
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE), this.conversionBus.convert(new AtomicLong(Long.MAX_VALUE), BigDecimal.class));
+        final DoubleAdder adder = new DoubleAdder();
+        adder.add(2.5D);
+        assertEquals(new BigDecimal("2.5"), this.conversionBus.convert(adder, BigDecimal.class));
+    }
+
+    @Test
+    void testDecimalsRoundedLikeJdk() {
+        final Random random = new Random(4711);
+        final StringToNumberConverter converter = new StringToNumberConverter();
+
+        for (int i = 0; i < 10_000; i++) {
+            final String value = random.nextInt(100_000_000) + "." + random.nextInt(1_000_000) + "e" + (random.nextInt(40) - 20);
+            assertEquals(Double.parseDouble(value), converter.convert(value, String.class, Double.class), value);
+            assertEquals(Float.parseFloat(value), converter.convert(value, String.class, Float.class), value);
+        }
+    }
+
     public static class TestNumber extends Number {
 
         @Override
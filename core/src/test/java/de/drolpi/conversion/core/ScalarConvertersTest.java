@@ -85,6 +85,13 @@ void testStringToPattern() {
         assertEquals(convertToPattern.pattern(), pattern);
     }
 
+    @Test
+    void testInvalidStringsFailConversion() {
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("no-uuid", UUID.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("EURO", Currency.class));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("[", Pattern.class));
+    }
+
     @Test
     void testPatternToString() {
         final String regex = "\\d";
@@ -101,6 +108,16 @@ void testStringToBooleanInvalidString() {
         assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convert("invalid", Boolean.class));
     }
 
+    @Test
+    void testStringToBooleanPrimitive() {
+        // The primitive conversion accepts exactly the values of the boxed conversion
+        for (final String value : new String[]{" On ", "Y", "t", "off", "N", "0"}) {
+            assertEquals(this.conversionBus.convert(value, Boolean.class), this.conversionBus.convertToBoolean(value));
+        }
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convertToBoolean("invalid"));
+        assertThrowsExactly(ConversionFailedException.class, () -> this.conversionBus.convertToBoolean(""));
+    }
+
     @Test
     void testStringToBooleanTrue() {
         assertEquals(Boolean.TRUE, this.conversionBus.convert("1", Boolean.class));
@@ -17,8 +17,8 @@
 package de.drolpi.conversion.objectmapper;
 
 import de.drolpi.conversion.core.ConversionBus;
+import de.drolpi.conversion.core.util.TypeDescriptor;
 import de.drolpi.conversion.objectmapper.discoverer.FieldDiscoverer;
-import io.leangen.geantyref.GenericTypeReflector;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Type;
@@ -74,7 +74,7 @@ private T load(Map<String, Object> source, Function<U, T> completer) {
             }
 
             final Type fieldType = field.type();
-            final Class<?> erasedBoxedType = GenericTypeReflector.erase(GenericTypeReflector.box(fieldType));
+            final Class<?> erasedBoxedType = TypeDescriptor.boxedType(fieldType);
             // Convert value to field type
             final Object fieldValue = this.conversionBus.convert(mapValue, fieldType);
 
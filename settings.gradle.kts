@@ -29,5 +29,6 @@ rootProject.name = "Conversion"
 
 include(
         ":core",
-        ":object-mapper"
+        ":object-mapper",
+        ":benchmarks"
 )